@@ -1,14 +1,19 @@
 package controller;
 
+import model.chessboard.BitBoard;
 import model.chessboard.Board;
-import model.chessboard.ChessBoard;
 import model.chessboard.Color;
+import model.chessboard.Move;
 import model.exceptions.IllegalMoveException;
 import model.player.Player;
+import model.search.AnalyzedMove;
+import model.search.EngineConfig;
+import model.search.SearchEngine;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.Duration;
 import java.util.regex.Pattern;
 
 /**
@@ -18,12 +23,21 @@ public final class Shell {
     private static final String PROMPT = "pc> ";
     private static final Pattern WHITESPACE_SPLIT = Pattern.compile("\\s+");
 
+    // This is the highest difficulty level of the machine opponent.
+    private static final int MAX_DIFFICULTY_LEVEL = 10;
+
+    // This is the number of milliseconds a hint is searched by default.
+    private static final long DEFAULT_HINT_LATENCY = 1000;
+
     // This is the difficulty level of the machine opponent.
     private static int difficultyLevel = 3;
 
     // This is the color of the human player.
     private static Color humanColor = Color.WHITE;
 
+    // This is the engine which searches the moves of the machine opponent.
+    private static SearchEngine searchEngine = SearchEngine.ALPHA_BETA;
+
     /**
      * Private constructor for the Shell class. Do not attempt to use this.
      */
@@ -72,7 +86,14 @@ public final class Shell {
                     gameBoard = constructNewBoard(tokenParts, gameBoard);
                     break;
                 case 'h':
-                    printHelp(tokenParts);
+                    if (!tokenParts[0].toLowerCase().startsWith("hi")) {
+                        printHelp(tokenParts);
+                    } else if (!(gameBoard == null)) {
+                        printHint(tokenParts, gameBoard);
+                    } else {
+                        printError("There is no board to give a hint on. Try"
+                                + " command: 'NEW'.");
+                    }
                     break;
                 case 'l':
                     if (!(gameBoard == null)) {
@@ -98,6 +119,15 @@ public final class Shell {
                                 + "Try command: 'NEW'.");
                     }
                     break;
+                case 'e':
+                    if (!(gameBoard == null)) {
+                        setSearchEngine(tokenParts, gameBoard);
+                    } else {
+                        printError("There is no board/machine opponent to "
+                                + "change the engine of.\nTry command: "
+                                + "'NEW'.");
+                    }
+                    break;
                 case 'q':
                     quit = true;
                     break;
@@ -248,6 +278,79 @@ public final class Shell {
         }
     }
 
+    /**
+     * Prints a suggested move for the human and the moves both players are
+     * expected to make after it. The suggestion is searched for the given
+     * number of milliseconds or a second by default.
+     *
+     * @param tokenParts String array of all arguments.
+     * @param gameBoard  The board on which the move is suggested.
+     */
+    private static void printHint(String[] tokenParts, Board gameBoard) {
+        assert gameBoard != null && tokenParts != null;
+
+        long latency = DEFAULT_HINT_LATENCY;
+        if (tokenParts.length == 2) {
+            try {
+                latency = Long.parseLong(tokenParts[1]);
+            } catch (NumberFormatException numberFormatException) {
+                printError("The time of the command hint is a number of "
+                        + "milliseconds.\nFor example: 'hint 500'.");
+                return;
+            }
+        } else if (!hasCorrectAmountArguments(tokenParts, 1)) {
+            return;
+        }
+
+        AnalyzedMove hint;
+        try {
+            hint = gameBoard.hint(Duration.ofMillis(latency));
+        } catch (IllegalArgumentException | IllegalMoveException exception) {
+            printError(exception.getMessage());
+            return;
+        }
+        int[] variation = hint.getVariation();
+        System.out.println("Suggested move: " + Move.getColFrom(hint.getMove())
+                + " " + Move.getRowFrom(hint.getMove()) + " "
+                + Move.getColTo(hint.getMove()) + " "
+                + Move.getRowTo(hint.getMove()));
+        StringBuilder line = new StringBuilder("Expected line:");
+        for (int i = 0; i < variation.length; i++) {
+            line.append(i == 0 ? " " : ", ").append(Move.toString(
+                    variation[i]));
+        }
+        System.out.println(line);
+    }
+
+    /**
+     * Sets the engine which searches the moves of the machine opponent in
+     * this game and the following ones.
+     *
+     * @param tokenParts String array of all arguments.
+     * @param gameBoard  The board on which the action is performed.
+     */
+    private static void setSearchEngine(String[] tokenParts,
+                                        Board gameBoard) {
+        assert tokenParts != null && gameBoard != null;
+
+        if (hasCorrectAmountArguments(tokenParts, 2)) {
+            String engine = tokenParts[1].toLowerCase();
+            if (engine.startsWith("a")) {
+                searchEngine = SearchEngine.ALPHA_BETA;
+                System.out.println("The machine searches with alpha-beta.");
+            } else if (engine.startsWith("m")) {
+                searchEngine = SearchEngine.MONTE_CARLO;
+                System.out.println("The machine searches with Monte Carlo "
+                        + "tree search.");
+            } else {
+                printError("The engine is either 'alphabeta' or "
+                        + "'montecarlo'.");
+                return;
+            }
+            gameBoard.getEngineConfig().setSearchEngine(searchEngine);
+        }
+    }
+
     /**
      * Sets the difficulty level of the machine opponent.
      *
@@ -268,9 +371,10 @@ public final class Shell {
                         + "difficulty level.");
             }
 
-            if (newDifficultyLevel < 1 || newDifficultyLevel > 4) {
-                printError("The difficulty level must lie between one and "
-                        + "four!");
+            if (newDifficultyLevel < 1
+                    || newDifficultyLevel > MAX_DIFFICULTY_LEVEL) {
+                printError("The difficulty level must lie between 1 and "
+                        + MAX_DIFFICULTY_LEVEL + "!");
             } else {
                 difficultyLevel = newDifficultyLevel;
                 gameBoard.setLevel(difficultyLevel);
@@ -293,8 +397,18 @@ public final class Shell {
 
         Board gameBoard = board;
         if (hasCorrectAmountArguments(tokenParts, 1)) {
+
+            // The machine's answers in the old game will not be needed.
+            if (board != null) {
+                board.getEngineConfig().stopPondering();
+            }
             try {
-                gameBoard = new ChessBoard(difficultyLevel, humanColor);
+
+                // Let the machine search on the human's time.
+                EngineConfig config = new EngineConfig();
+                config.setSearchEngine(searchEngine);
+                config.setPondering(true);
+                gameBoard = new BitBoard(difficultyLevel, humanColor, config);
             } catch (IllegalArgumentException exception) {
 
                 // This exception cannot be caused by a faulty user interaction
@@ -381,17 +495,23 @@ public final class Shell {
                     + "\n      difficulty level is 3.");
             System.out.println("LEVEL <number> : Sets the difficulty level to "
                     + "the given number. \n      Please use values between "
-                    + "1 and 4.");
+                    + "1 and " + MAX_DIFFICULTY_LEVEL + ".");
             System.out.println("MOVE <colFrom> <rowFrom> <colTo> <rowTo> : \n"
                     + "     This moves one of your pawns from the given\n     "
                     + "column and row to the given destination column and row."
                     + "\n     The machine will move automatically afterwards."
                     + "\n     If you or the machine have to suspend you will "
                     + "be notified.");
+            System.out.println("ENGINE <alphabeta|montecarlo> : Sets the "
+                    + "engine which searches\n      the machines moves. The "
+                    + "default is alphabeta.");
             System.out.println("SWITCH : Starts a new game and switches your "
                     + "and the machines colors.");
             System.out.println("PRINT: Prints out the game board on the "
                     + "console.");
+            System.out.println("HINT [<milliseconds>] : Suggests a move and "
+                    + "the line expected after it.\n      The move is "
+                    + "searched for the given time or a second.");
             System.out.println("HELP : Prints out his help message.");
             System.out.println("QUIT : Terminates this program.");
         }
@@ -0,0 +1,1222 @@
+package model.chessboard;
+
+import model.exceptions.IllegalMoveException;
+import model.player.Player;
+import model.search.AlphaBetaSearch;
+import model.search.AnalyzedMove;
+import model.search.EngineConfig;
+import model.search.LazySmpSearch;
+import model.search.MonteCarloSearch;
+import model.search.Outcome;
+import model.search.Ponderer;
+import model.search.ProofNumberSearch;
+import model.search.SearchEngine;
+import model.search.SearchLimits;
+import model.search.SearchListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntSupplier;
+
+/**
+ * An implementation of the {@code Board} interface which stores the pawns as
+ * 64-bit masks instead of lists of {@code Pawn} objects. Every slot of the
+ * grid is mapped to one bit, so looking up a slot, testing the legality of a
+ * move and rating a board are done with a few shifts and masks. The game
+ * rules are the same as in {@code ChessBoard}, whose machine moves are
+ * searched on a bitboard.
+ *
+ * The slot in column {@code col} and row {@code row} is represented by the
+ * bit {@code (row - 1) * SIZE + (col - 1)}, so bit 0 is the bottom left slot
+ * and row 1 occupies the lowest bits.
+ */
+public class BitBoard implements Board, Cloneable {
+
+    // The number of slots on the grid.
+    private static final int SLOTS = SIZE * SIZE;
+
+    // A mask containing every slot of the grid.
+    private static final long ALL_SLOTS
+            = SLOTS == Long.SIZE ? -1L : (1L << SLOTS) - 1;
+
+    // A mask containing the slots of the first column.
+    private static final long FIRST_COLUMN = createColumnMask(1);
+
+    // A mask containing the slots of the last column.
+    private static final long LAST_COLUMN = createColumnMask(SIZE);
+
+    // A mask containing the slots of the lowest row (the human's ground line).
+    private static final long FIRST_ROW = createRowMask(1);
+
+    // A mask containing the slots of the highest row (the machine's ground
+    // line).
+    private static final long LAST_ROW = createRowMask(SIZE);
+
+    // The masks of all rows. The mask of a row is stored at the index of the
+    // row minus one.
+    private static final long[] ROWS = new long[SIZE];
+
+    // The index of the tables of moves diagonally to the left.
+    private static final int LEFT = Direction.DIAGONAL_LEFT.ordinal();
+
+    // The index of the tables of moves one slot ahead.
+    private static final int AHEAD = Direction.FORWARD.ordinal();
+
+    // The index of the tables of moves two slots ahead.
+    private static final int TWICE_AHEAD = Direction.DOUBLE_FORWARD.ordinal();
+
+    // The index of the tables of moves diagonally to the right.
+    private static final int RIGHT = Direction.DIAGONAL_RIGHT.ordinal();
+
+    // The destinations of the moves of a single pawn, indexed by the ordinal
+    // of the moving player, the ordinal of the direction and the index of the
+    // pawn's slot. A destination outside the grid is represented by 0.
+    private static final long[][][] TARGETS
+            = new long[Player.values().length][RIGHT + 1][SLOTS];
+
+    // The encoded moves to the destinations stored in the same place of
+    // TARGETS.
+    private static final int[][][] MOVES
+            = new int[Player.values().length][RIGHT + 1][SLOTS];
+
+    static {
+        for (int row = 1; row <= SIZE; row++) {
+            ROWS[row - 1] = createRowMask(row);
+        }
+
+        for (Player player : Player.values()) {
+            long[][] targets = TARGETS[player.ordinal()];
+            int[][] moves = MOVES[player.ordinal()];
+
+            for (int slot = 0; slot < SLOTS; slot++) {
+                long pawn = 1L << slot;
+                targets[LEFT][slot] = forwardLeft(pawn, player);
+                targets[AHEAD][slot] = forward(pawn, player);
+                targets[TWICE_AHEAD][slot]
+                        = forward(forward(pawn, player), player);
+                targets[RIGHT][slot] = forwardRight(pawn, player);
+
+                for (int direction = LEFT; direction <= RIGHT; direction++) {
+                    if (targets[direction][slot] != 0) {
+                        moves[direction][slot] = Move.create(slot,
+                                Long.numberOfTrailingZeros(
+                                        targets[direction][slot]),
+                                direction == LEFT || direction == RIGHT,
+                                direction == TWICE_AHEAD);
+                    }
+                }
+            }
+        }
+    }
+
+    // Flag of the undo information: a hostile pawn has been attacked.
+    private static final int UNDO_CAPTURE = 1;
+
+    // Flag of the undo information: the attacked pawn had already been moved.
+    private static final int UNDO_CAPTURED_MOVED = 2;
+
+    // Flag of the undo information: the moved pawn had already been moved.
+    private static final int UNDO_MOVED = 4;
+
+    // Flag of the undo information: the machine was the next player.
+    private static final int UNDO_MACHINE_NEXT = 8;
+
+    // The greatest number of pawns of both players on a board on which the
+    // machine tries to prove a win before it searches its move.
+    private static final int SOLVER_MAX_PAWNS = 10;
+
+    // The number of boards the proof of a win may visit. It takes well below
+    // a tenth of a second.
+    private static final long SOLVER_NODES = 100_000;
+
+    // The number of pawns on the last board of this game on which the
+    // machine failed to prove a win or a draw, or Integer.MAX_VALUE. Copied
+    // to the boards which result from moves, so that the proof is only tried
+    // again once a pawn has been captured.
+    private int unprovenPawns = Integer.MAX_VALUE;
+
+    // The settings of the searches of the machine's moves in this game.
+    // Shared with all boards which result from moves on this board.
+    private final EngineConfig config;
+
+    // The player who can move next.
+    private Player nextPlayer;
+
+    // The slots occupied by pawns of the player with the white color.
+    private long whitePawns;
+
+    // The slots occupied by pawns of the player with the black color.
+    private long blackPawns;
+
+    // The slots occupied by pawns which have already been moved.
+    private long movedPawns;
+
+    // The Zobrist key of the pawns and their moved flags. The key of the next
+    // player is added by getPositionKey().
+    private long pawnsKey;
+
+    /**
+     * This is the constructor of a bitboard implementation of a {@code Board}
+     * for pawns chess.
+     * The pawns will be initiated at the opposing sides of the board.
+     *
+     * @param level      The difficulty level of the machine player. This
+     *                   determines how many moves the machine player can
+     *                   simulate into the future in order to determine his
+     *                   best next move.
+     * @param humanColor The color of your pawns. If you are white you will
+     *                   start first. If you are black the machine player
+     *                   will start the game. Regardless of your color, your
+     *                   pawns will start at the bottom of the board.
+     * @throws IllegalArgumentException Throws an exception if the level or
+     *                                  the humanColor are not valid.
+     */
+    public BitBoard(int level, Color humanColor) {
+        this(level, humanColor, new EngineConfig());
+    }
+
+    /**
+     * Creates a bitboard with the pawns in their initial positions, whose
+     * machine moves are searched with the given settings.
+     *
+     * @param level      The difficulty level of the machine player.
+     * @param humanColor The color of your pawns.
+     * @param config     The settings of the searches of the machine's moves
+     *                   in this game.
+     * @throws IllegalArgumentException If the level or the humanColor are not
+     *                                  valid or the settings are {@code
+     *                                  null}.
+     */
+    public BitBoard(int level, Color humanColor, EngineConfig config) {
+        assert SLOTS <= Long.SIZE;
+
+        if (config == null) {
+            throw new IllegalArgumentException("The engine settings must not "
+                    + "be null.");
+        } else if (humanColor == null || humanColor == Color.NONE) {
+            throw new IllegalArgumentException("The human player has to have "
+                    + "a valid color.");
+        } else if (level < 1) {
+            throw new IllegalArgumentException("The machine's level must be "
+                    + "positive and greater than zero.");
+        } else {
+            Player.MACHINE.setLevel(level);
+            Player.HUMAN.setColor(humanColor);
+            Player.MACHINE.setColor(Color.getOppositeColor(humanColor));
+            nextPlayer = getOpeningPlayer();
+        }
+        this.config = config;
+
+        // The human's pawns start on the lowest row, the machine's pawns on
+        // the highest row.
+        setPawns(getHumanColor(), FIRST_ROW);
+        setPawns(Color.getOppositeColor(getHumanColor()), LAST_ROW);
+        pawnsKey = Zobrist.pawns(Color.WHITE, whitePawns)
+                ^ Zobrist.pawns(Color.BLACK, blackPawns);
+    }
+
+    /**
+     * Creates a board with the given pawns, e.g., to search the moves of a
+     * {@code ChessBoard}. The level and the colors of the players are not
+     * changed.
+     *
+     * @param nextPlayer The player who can move next.
+     * @param whitePawns The slots occupied by pawns of the white player.
+     * @param blackPawns The slots occupied by pawns of the black player.
+     * @param movedPawns The slots occupied by pawns which have already been
+     *                   moved.
+     * @param config     The settings of the searches of the machine's moves.
+     */
+    BitBoard(Player nextPlayer, long whitePawns, long blackPawns,
+             long movedPawns, EngineConfig config) {
+        assert nextPlayer != null && (whitePawns & blackPawns) == 0
+                && (movedPawns & ~(whitePawns | blackPawns)) == 0
+                && config != null;
+
+        this.config = config;
+        this.nextPlayer = nextPlayer;
+        this.whitePawns = whitePawns;
+        this.blackPawns = blackPawns;
+        this.movedPawns = movedPawns;
+        pawnsKey = Zobrist.pawns(Color.WHITE, whitePawns)
+                ^ Zobrist.pawns(Color.BLACK, blackPawns)
+                ^ Zobrist.movedPawns(movedPawns);
+    }
+
+    /**
+     * Creates a mask of all slots within a column.
+     *
+     * @param col The column of the slots.
+     * @return The mask of the column.
+     */
+    private static long createColumnMask(int col) {
+        long mask = 0;
+        for (int row = 1; row <= SIZE; row++) {
+            mask |= toMask(col, row);
+        }
+        return mask;
+    }
+
+    /**
+     * Creates a mask of all slots within a row.
+     *
+     * @param row The row of the slots.
+     * @return The mask of the row.
+     */
+    private static long createRowMask(int row) {
+        long mask = 0;
+        for (int col = 1; col <= SIZE; col++) {
+            mask |= toMask(col, row);
+        }
+        return mask;
+    }
+
+    /**
+     * Determines the bit that represents a slot on the grid.
+     *
+     * @param col The column of the slot.
+     * @param row The row of the slot.
+     * @return A mask in which only the bit of the slot is set.
+     */
+    private static long toMask(int col, int row) {
+        assert col >= 1 && col <= SIZE && row >= 1 && row <= SIZE;
+
+        return 1L << ((row - 1) * SIZE + (col - 1));
+    }
+
+    /**
+     * Moves every slot of a mask one row up. Slots leaving the grid are
+     * dropped.
+     *
+     * @param mask The slots to be moved.
+     * @return The moved slots.
+     */
+    private static long north(long mask) {
+        return (mask << SIZE) & ALL_SLOTS;
+    }
+
+    /**
+     * Moves every slot of a mask one row down. Slots leaving the grid are
+     * dropped.
+     *
+     * @param mask The slots to be moved.
+     * @return The moved slots.
+     */
+    private static long south(long mask) {
+        return mask >>> SIZE;
+    }
+
+    /**
+     * Moves every slot of a mask one column to the left. Slots leaving the
+     * grid are dropped.
+     *
+     * @param mask The slots to be moved.
+     * @return The moved slots.
+     */
+    private static long west(long mask) {
+        return (mask & ~FIRST_COLUMN) >>> 1;
+    }
+
+    /**
+     * Moves every slot of a mask one column to the right. Slots leaving the
+     * grid are dropped.
+     *
+     * @param mask The slots to be moved.
+     * @return The moved slots.
+     */
+    private static long east(long mask) {
+        return (mask & ~LAST_COLUMN) << 1;
+    }
+
+    /**
+     * Moves every slot of a mask one row forward from the viewpoint of the
+     * given player.
+     *
+     * @param mask   The slots to be moved.
+     * @param player The player whose pawns are moved.
+     * @return The moved slots.
+     */
+    private static long forward(long mask, Player player) {
+        if (player == Player.HUMAN) {
+            return north(mask);
+        } else {
+            return south(mask);
+        }
+    }
+
+    /**
+     * Moves every slot of a mask diagonally forward to the left from the
+     * viewpoint of the given player.
+     *
+     * @param mask   The slots to be moved.
+     * @param player The player whose pawns are moved.
+     * @return The moved slots.
+     */
+    private static long forwardLeft(long mask, Player player) {
+        if (player == Player.HUMAN) {
+            return west(north(mask));
+        } else {
+            return east(south(mask));
+        }
+    }
+
+    /**
+     * Moves every slot of a mask diagonally forward to the right from the
+     * viewpoint of the given player.
+     *
+     * @param mask   The slots to be moved.
+     * @param player The player whose pawns are moved.
+     * @return The moved slots.
+     */
+    private static long forwardRight(long mask, Player player) {
+        if (player == Player.HUMAN) {
+            return east(north(mask));
+        } else {
+            return west(south(mask));
+        }
+    }
+
+    /**
+     * Determines all slots which are adjacent to at least one slot of a mask,
+     * diagonals included.
+     *
+     * @param mask The slots whose neighbors are determined.
+     * @return The neighboring slots.
+     */
+    private static long neighbors(long mask) {
+        long row = mask | west(mask) | east(mask);
+        return north(row) | south(row) | west(mask) | east(mask);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Player getOpeningPlayer() {
+        if (getHumanColor() == Color.WHITE) {
+            return Player.HUMAN;
+        } else {
+            return Player.MACHINE;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Board move(int colFrom, int rowFrom, int colTo, int rowTo)
+            throws IllegalMoveException {
+
+        if (nextPlayer != Player.HUMAN) {
+            throw new IllegalMoveException("It is not the human player's "
+                    + "turn.");
+        } else if (isGameOver()) {
+            throw new IllegalMoveException("No more moves can be made as this"
+                    + " game is already finished.");
+        } else if (colFrom < 1 || colFrom > SIZE || rowFrom < 1
+                || rowFrom > SIZE || colTo < 1 || colTo > SIZE || rowTo < 1
+                || rowTo > SIZE) {
+            throw new IllegalArgumentException("The move must occur within "
+                    + "the board!");
+        } else {
+            long from = toMask(colFrom, rowFrom);
+            long to = toMask(colTo, rowTo);
+
+            if ((getPawns(getHumanColor()) & from) == 0
+                    || (legalTargets(from, Player.HUMAN) & to) == 0) {
+
+                // Return null because there is no human pawn to be moved or
+                // the move is not legal.
+                return null;
+            } else {
+                BitBoard newBoard = (BitBoard) this.clone();
+                newBoard.makeMove(Move.create(colFrom, rowFrom, colTo, rowTo));
+
+                if (newBoard.hasToSuspend(Player.MACHINE)) {
+                    newBoard.nextPlayer = Player.HUMAN;
+                } else {
+                    newBoard.nextPlayer = Player.MACHINE;
+                }
+                return newBoard;
+            }
+        }
+    }
+
+    /**
+     * Determines the slots to which the pawns of a mask could legally move.
+     *
+     * @param pawns  The pawns which are to be moved. They have to belong to
+     *               {@code player}.
+     * @param player The player who owns the pawns.
+     * @return The legal destinations of all moves of the given pawns.
+     */
+    private long legalTargets(long pawns, Player player) {
+        long empty = ~(whitePawns | blackPawns) & ALL_SLOTS;
+        long hostile = getPawns(Color.getOppositeColor(player.getColor()));
+
+        long single = forward(pawns, player) & empty;
+
+        // Only pawns which have not yet been moved may move two slots, and
+        // only if both slots ahead of them are free.
+        long twice = forward(forward(pawns & ~movedPawns, player) & empty,
+                player) & empty;
+
+        long attacks = (forwardLeft(pawns, player)
+                | forwardRight(pawns, player)) & hostile;
+
+        return single | twice | attacks;
+    }
+
+    /**
+     * Executes a move of the next player on this board. Contrary to {@link
+     * #move(int, int, int, int)} and {@link #machineMove()} the state of this
+     * instance is changed, so that a search can walk the game tree on a single
+     * board without copying it. Afterwards, the opponent is the next player,
+     * even if he has to suspend. The move is not validated and has to be
+     * legal.
+     *
+     * @param move The move as encoded by {@code Move}.
+     * @return The information required to take the move back by {@link
+     * #unmakeMove(int, int)}.
+     */
+    public int makeMove(int move) {
+        long from = 1L << Move.getFrom(move);
+        long to = 1L << Move.getTo(move);
+        Color color = nextPlayer.getColor();
+        Color hostileColor = Color.getOppositeColor(color);
+
+        assert (getPawns(color) & from) != 0
+                && (legalTargets(from, nextPlayer) & to) != 0;
+
+        int undoInfo = 0;
+        if ((getPawns(hostileColor) & to) != 0) {
+
+            // Remove the pawn which is attacked.
+            undoInfo |= UNDO_CAPTURE;
+            if ((movedPawns & to) != 0) {
+                undoInfo |= UNDO_CAPTURED_MOVED;
+            }
+            setPawns(hostileColor, getPawns(hostileColor) & ~to);
+        }
+        if ((movedPawns & from) != 0) {
+            undoInfo |= UNDO_MOVED;
+        }
+        if (nextPlayer == Player.MACHINE) {
+            undoInfo |= UNDO_MACHINE_NEXT;
+        }
+
+        setPawns(color, (getPawns(color) & ~from) | to);
+        movedPawns = (movedPawns & ~from) | to;
+        togglePawnsKey(color, move, undoInfo);
+        nextPlayer = Player.getOppositePlayer(nextPlayer);
+        return undoInfo;
+    }
+
+    /**
+     * Takes back a move which has been executed by {@link #makeMove(int)}.
+     * Moves have to be taken back in the reverse order of their execution.
+     *
+     * @param move     The move which was executed last.
+     * @param undoInfo The information returned when the move was executed.
+     */
+    public void unmakeMove(int move, int undoInfo) {
+        long from = 1L << Move.getFrom(move);
+        long to = 1L << Move.getTo(move);
+
+        if ((undoInfo & UNDO_MACHINE_NEXT) != 0) {
+            nextPlayer = Player.MACHINE;
+        } else {
+            nextPlayer = Player.HUMAN;
+        }
+        Color color = nextPlayer.getColor();
+        Color hostileColor = Color.getOppositeColor(color);
+
+        assert (getPawns(color) & to) != 0;
+
+        setPawns(color, (getPawns(color) & ~to) | from);
+        movedPawns &= ~(from | to);
+        if ((undoInfo & UNDO_MOVED) != 0) {
+            movedPawns |= from;
+        }
+        if ((undoInfo & UNDO_CAPTURE) != 0) {
+
+            // Put the attacked pawn back.
+            setPawns(hostileColor, getPawns(hostileColor) | to);
+            if ((undoInfo & UNDO_CAPTURED_MOVED) != 0) {
+                movedPawns |= to;
+            }
+        }
+        togglePawnsKey(color, move, undoInfo);
+    }
+
+    /**
+     * Lets the next player miss a turn on this board, as he has to if he has
+     * no legal move, so that the opponent moves again. Like {@link
+     * #makeMove(int)}, the state of this instance is changed. Calling this
+     * method again takes the suspension back.
+     */
+    public void suspendMove() {
+        nextPlayer = Player.getOppositePlayer(nextPlayer);
+    }
+
+    /**
+     * Xors the keys of all features changed by a move into the key of the
+     * pawns. As xor is its own inverse, the same call updates the key when
+     * the move is executed and when it is taken back.
+     *
+     * @param color    The color of the moved pawn.
+     * @param move     The move.
+     * @param undoInfo The undo information of the move.
+     */
+    private void togglePawnsKey(Color color, int move, int undoInfo) {
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+
+        pawnsKey ^= Zobrist.pawn(color, from) ^ Zobrist.pawn(color, to)
+                ^ Zobrist.moved(to);
+        if ((undoInfo & UNDO_MOVED) != 0) {
+            pawnsKey ^= Zobrist.moved(from);
+        }
+        if ((undoInfo & UNDO_CAPTURE) != 0) {
+            pawnsKey ^= Zobrist.pawn(Color.getOppositeColor(color), to);
+            if ((undoInfo & UNDO_CAPTURED_MOVED) != 0) {
+                pawnsKey ^= Zobrist.moved(to);
+            }
+        }
+    }
+
+    /**
+     * Creates a value for a board by inspecting the positions of the pawns.
+     * A high return value indicates a board favorable to the machine player.
+     *
+     * @param depth The height of this board within the game tree searched for
+     *              the machine's next move, i.e., the number of moves which
+     *              could still be made below it. It is zero for the root.
+     * @return The value of the board indicating if its pawns are in a
+     * favorable position.
+     */
+    public double createBoardRating(int depth) {
+        assert depth >= 0;
+
+        long humanPawns = getPawns(getHumanColor());
+        long machinePawns = getPawns(Color.getOppositeColor(getHumanColor()));
+
+        double n = calculateValueN(humanPawns, machinePawns);
+
+        double d = calculateValueD(humanPawns, machinePawns);
+
+        double c = calculateValueC(humanPawns, machinePawns);
+
+        double i = calculateValueI(humanPawns, machinePawns);
+
+        double v = calculateValueV(depth);
+        return n + d + c + i + v;
+    }
+
+    /**
+     * Returns a value which indicates whether the amount of pawns for each
+     * player is in favor of the machine player.
+     *
+     * @param humanPawns   The slots of the pawns of the human player.
+     * @param machinePawns The slots of the pawns of the machine player.
+     * @return The value regarding the amount of pawns.
+     */
+    private double calculateValueN(long humanPawns, long machinePawns) {
+        return Long.bitCount(machinePawns) - 1.5 * Long.bitCount(humanPawns);
+    }
+
+    /**
+     * Returns a value which indicates whether the distance travelled by
+     * all pawns is favourable for the machine player.
+     *
+     * @param humanPawns   The slots of the pawns of the human player.
+     * @param machinePawns The slots of the pawns of the machine player.
+     * @return The value regarding the distance travelled by pawns.
+     */
+    private double calculateValueD(long humanPawns, long machinePawns) {
+        int machinePawnsMovedFactor = 0;
+        int humanPawnsMovedFactor = 0;
+        for (int i = 0; i < SIZE; i++) {
+            machinePawnsMovedFactor = machinePawnsMovedFactor
+                    + Long.bitCount(machinePawns & ROWS[SIZE - i - 1]) * i;
+            humanPawnsMovedFactor = humanPawnsMovedFactor
+                    + Long.bitCount(humanPawns & ROWS[i]) * i;
+        }
+
+        return machinePawnsMovedFactor - 1.5 * humanPawnsMovedFactor;
+    }
+
+    /**
+     * Returns a value which indicates whether the amount of pawns that are
+     * threatened but not protected is favourable to the machine player. A
+     * pawn counts as protected if any pawn stands diagonally behind it.
+     *
+     * @param humanPawns   The slots of the pawns of the human player.
+     * @param machinePawns The slots of the pawns of the machine player.
+     * @return The value regarding the amount of threatened pawns.
+     */
+    private double calculateValueC(long humanPawns, long machinePawns) {
+        long allPawns = humanPawns | machinePawns;
+
+        long threatenedHumanPawns = humanPawns
+                & (forwardLeft(machinePawns, Player.MACHINE)
+                | forwardRight(machinePawns, Player.MACHINE))
+                & ~(forwardLeft(allPawns, Player.HUMAN)
+                | forwardRight(allPawns, Player.HUMAN));
+
+        long threatenedMachinePawns = machinePawns
+                & (forwardLeft(humanPawns, Player.HUMAN)
+                | forwardRight(humanPawns, Player.HUMAN))
+                & ~(forwardLeft(allPawns, Player.MACHINE)
+                | forwardRight(allPawns, Player.MACHINE));
+
+        return Long.bitCount(threatenedHumanPawns)
+                - 1.5 * Long.bitCount(threatenedMachinePawns);
+    }
+
+    /**
+     * Returns a value which indicates whether the amount of pawns that are
+     * isolated from other friendly pawns is favourable to the machine player.
+     *
+     * @param humanPawns   The slots of the pawns of the human player.
+     * @param machinePawns The slots of the pawns of the machine player.
+     * @return The value regarding the amount of isolated pawns.
+     */
+    private double calculateValueI(long humanPawns, long machinePawns) {
+        long isolatedMachinePawns = machinePawns & ~neighbors(machinePawns);
+        long isolatedHumanPawns = humanPawns & ~neighbors(humanPawns);
+
+        return Long.bitCount(isolatedHumanPawns)
+                - 1.5 * Long.bitCount(isolatedMachinePawns);
+    }
+
+    /**
+     * Returns a value which indicates whether the the winner of the board is
+     * the machine or the human in relationship with how many moves it would
+     * take the player to reach this win. This will always return zero if
+     * nobody has won this board.
+     *
+     * @param depth The depth of the given board in the look-ahead tree
+     *              that determines the machines next move.
+     * @return The value regarding the winner of the board.
+     */
+    private double calculateValueV(int depth) {
+        if (isGameOver() && depth != 0) {
+            Player winner = getWinner();
+            if (winner == Player.HUMAN) {
+                return -1.5 * 5000 / (double) depth;
+            } else if (winner == Player.MACHINE) {
+                return 5000 / (double) depth;
+            }
+        }
+
+        // Victory value for the root, for a draw or if the game has not yet
+        // ended.
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isGameOver() {
+        long humanPawns = getPawns(getHumanColor());
+        long machinePawns = getPawns(Color.getOppositeColor(getHumanColor()));
+
+        // Determine if one player has run out of pawns or a pawn has reached
+        // its final row.
+        if (humanPawns == 0 || machinePawns == 0
+                || (machinePawns & FIRST_ROW) != 0
+                || (humanPawns & LAST_ROW) != 0) {
+            return true;
+        } else {
+
+            // Determine whether there is a legal move left.
+            return hasToSuspend(Player.MACHINE) && hasToSuspend(Player.HUMAN);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Player getWinner() {
+        if (!isGameOver()) {
+            throw new IllegalCallerException("This game has not ended.");
+        }
+
+        long humanPawns = getPawns(getHumanColor());
+        long machinePawns = getPawns(Color.getOppositeColor(getHumanColor()));
+
+        // Determine whether a player has reached the enemies base row.
+        if ((machinePawns & FIRST_ROW) != 0) {
+            return Player.MACHINE;
+        } else if ((humanPawns & LAST_ROW) != 0) {
+            return Player.HUMAN;
+        } else if (humanPawns == 0 && machinePawns == 0) {
+            return null;
+        } else if (humanPawns == 0) {
+            return Player.MACHINE;
+        } else if (machinePawns == 0) {
+            return Player.HUMAN;
+        } else {
+
+            // This is the case for a stalemate, the player with more pawns
+            // wins.
+            int humanCount = Long.bitCount(humanPawns);
+            int machineCount = Long.bitCount(machinePawns);
+            if (humanCount > machineCount) {
+                return Player.HUMAN;
+            } else if (machineCount > humanCount) {
+                return Player.MACHINE;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the machine has pondered on this board, its answer is taken without
+     * searching again. With pondering enabled, the machine starts to ponder
+     * on the returned board. The Monte Carlo engine translates the level into
+     * a number of playouts. With few pawns left, a proven win or draw is
+     * played without searching, see {@link #provenMachineMove()}.
+     */
+    @Override
+    public Board machineMove() throws IllegalMoveException {
+        checkMachineCanMove();
+        BitBoard proven = provenMachineMove();
+        if (proven != null) {
+            return proven;
+        }
+        int level = Player.MACHINE.getLevel();
+        if (config.getSearchEngine() == SearchEngine.MONTE_CARLO) {
+            return monteCarloMachineMove(SearchLimits.ofDepth(level), null);
+        }
+        return ponderedMachineMove(level, () -> new LazySmpSearch(this,
+                config.getTranspositionTable(), config.getSearchPool(),
+                config.getSearchThreads()).findBestMove(level));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Pondering is stopped, as its answers are only taken by searches
+     * limited by depth alone. The results it stored in the transposition
+     * table are still used.
+     */
+    @Override
+    public Board machineMove(Duration budget) throws IllegalMoveException {
+        return machineMove(SearchLimits.ofMovetime(budget), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If only the depth is limited, pondering works as for {@link
+     * #machineMove()} with the depth as level. A pondered answer is taken
+     * without informing the listener. Otherwise, and with the Monte Carlo
+     * engine, pondering is stopped. If only the depth is limited, a proven
+     * win or draw is played without searching or informing the listener, as
+     * for
+     * {@link #machineMove()}. A limit of the visited boards or of the time
+     * skips the proof, so that the limit bounds the cost of the move.
+     */
+    @Override
+    public Board machineMove(SearchLimits limits, SearchListener listener)
+            throws IllegalMoveException {
+        if (limits == null) {
+            throw new IllegalArgumentException("The search limits must not "
+                    + "be null.");
+        }
+        checkMachineCanMove();
+        BitBoard proven = limits.isDepthOnly() ? provenMachineMove() : null;
+        if (proven != null) {
+            return proven;
+        }
+        if (config.getSearchEngine() == SearchEngine.MONTE_CARLO) {
+            return monteCarloMachineMove(limits, listener);
+        }
+        LazySmpSearch search = new LazySmpSearch(this,
+                config.getTranspositionTable(), config.getSearchPool(),
+                config.getSearchThreads());
+        if (limits.isDepthOnly()) {
+            return ponderedMachineMove(limits.getDepth(),
+                    () -> search.findBestMove(limits, listener));
+        } else {
+            config.getPonderer().stop();
+            return executeMachineMove(search.findBestMove(limits, listener));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The analysis shares the transposition table and the pool with the
+     * searches of the machine's moves, so that the principal variations
+     * extend into the results they stored.
+     */
+    @Override
+    public List<AnalyzedMove> analyze(SearchLimits limits, int k)
+            throws IllegalMoveException {
+        if (isGameOver()) {
+            throw new IllegalMoveException("No more moves can be made as this"
+                    + " game is already finished.");
+        } else if (hasToSuspend(nextPlayer)) {
+            throw new IllegalMoveException("The next player must miss a "
+                    + "turn.");
+        }
+        return new AlphaBetaSearch(this, config.getTranspositionTable(),
+                config.getSearchPool()).analyze(limits, k);
+    }
+
+    /**
+     * Tries to prove the result of the game by a {@code ProofNumberSearch} if
+     * at most {@code SOLVER_MAX_PAWNS} pawns are left, as the search to a
+     * fixed depth can neither see wins further ahead nor stop early once the
+     * game is decided. If the machine wins or draws, its proven move is
+     * played, which is at least as good against every defense as the move
+     * of the search. Pondering is stopped then, as the next move is proven
+     * just as fast.
+     *
+     * The proof visits at most {@code SOLVER_NODES} boards, which adds well
+     * below a tenth of a second to the move. If it fails or proves a loss,
+     * the boards are lost to the move and the machine searches as usual. The
+     * proof is then skipped for the following moves of the game until a
+     * pawn has been captured, as it would most likely fail again.
+     *
+     * @return A copy of this board with the proven move executed or {@code
+     * null} if neither a win nor a draw has been proven.
+     * @throws CancellationException If the calling thread is interrupted
+     *                               before the result is proven.
+     */
+    private BitBoard provenMachineMove() {
+        int pawns = Long.bitCount(whitePawns | blackPawns);
+        if (pawns > SOLVER_MAX_PAWNS || pawns >= unprovenPawns) {
+            return null;
+        }
+        ProofNumberSearch solver = new ProofNumberSearch(this);
+        Outcome outcome = solver.solve(SOLVER_NODES);
+        if (outcome != Outcome.WIN && outcome != Outcome.DRAW) {
+
+            // Only changes how the machine moves on this board and on the
+            // boards which result from it.
+            unprovenPawns = pawns;
+            return null;
+        }
+        config.getPonderer().stop();
+        return executeMachineMove(solver.getBestMove());
+    }
+
+    /**
+     * Executes a machine move searched by a Monte Carlo tree search with the
+     * number of search threads on a copy of this board. Pondering is
+     * stopped, as it only searches with alpha-beta.
+     *
+     * @param limits   The limits of the search.
+     * @param listener The listener which is informed about the progress of
+     *                 the search or {@code null}.
+     * @return The copy with the move executed.
+     */
+    private BitBoard monteCarloMachineMove(SearchLimits limits,
+                                           SearchListener listener) {
+        config.getPonderer().stop();
+        return executeMachineMove(new MonteCarloSearch(this,
+                config.getSearchThreads())
+                .findBestMove(limits, listener));
+    }
+
+    /**
+     * Executes the pondered machine move on a copy of this board, or the
+     * move of a search if the machine has not pondered on this board. With
+     * pondering enabled, the machine starts to ponder on the copy.
+     *
+     * @param depth  The depth of the search.
+     * @param search The search for the move if it has not been pondered.
+     * @return The copy with the move executed.
+     */
+    private BitBoard ponderedMachineMove(int depth, IntSupplier search) {
+        Ponderer ponderer = config.getPonderer();
+        int move = ponderer.takeMove(this, depth);
+        if (move == Move.NONE) {
+            move = search.getAsInt();
+        }
+
+        BitBoard newBoard = executeMachineMove(move);
+        if (config.isPondering()) {
+            ponderer.start(newBoard, depth, config.getTranspositionTable(),
+                    config.getSearchPool(), config.getSearchThreads());
+        }
+        return newBoard;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EngineConfig getEngineConfig() {
+        return config;
+    }
+
+    /**
+     * Makes sure that the machine can move on this board.
+     *
+     * @throws IllegalMoveException If it is not the machine's turn, the game
+     *                              is over or the machine has to suspend.
+     */
+    private void checkMachineCanMove() throws IllegalMoveException {
+        if (nextPlayer != Player.MACHINE) {
+            throw new IllegalMoveException("It is not the machine player's "
+                    + "turn.");
+        } else if (isGameOver()) {
+            throw new IllegalMoveException("No more moves can be made as this"
+                    + " game is already finished.");
+        } else if (hasToSuspend(Player.MACHINE)) {
+            throw new IllegalMoveException("Machine must miss a turn.");
+        }
+    }
+
+    /**
+     * Executes a move of the machine on a copy of this board.
+     *
+     * @param move The move chosen for the machine.
+     * @return The copy with the move executed.
+     */
+    private BitBoard executeMachineMove(int move) {
+
+        // Board on which the move is executed.
+        BitBoard bestMove = (BitBoard) this.clone();
+        bestMove.makeMove(move);
+
+        if (bestMove.hasToSuspend(Player.HUMAN)) {
+            bestMove.nextPlayer = Player.MACHINE;
+        } else {
+            bestMove.nextPlayer = Player.HUMAN;
+        }
+        return bestMove;
+    }
+
+    /**
+     * Determines whether a player has to suspend his next move.
+     *
+     * @param player The player whose pawns are examined.
+     * @return Return {@code true} if the player has to suspend. Return
+     * {@code false} otherwise.
+     */
+    private boolean hasToSuspend(Player player) {
+        return legalTargets(getPawns(player.getColor()), player) == 0;
+    }
+
+    /**
+     * Generates all the moves that the next player can make. The pawns are
+     * visited in the order in which {@code ChessBoard} initially lists them,
+     * i.e., from the player's left to his right, and the moves of each pawn
+     * are ordered like the constants of {@code Direction}. The moves are
+     * looked up in tables which are computed once for every slot, so that
+     * nothing is allocated.
+     *
+     * @param moves The buffer which is filled with the moves, encoded as
+     *              described by {@code Move}, starting at index 0. It has to
+     *              hold at least {@code Move.MAX_MOVES} elements.
+     * @return The number of generated moves.
+     */
+    public int generateMoves(int[] moves) {
+        Player player = nextPlayer;
+        long pawns = getPawns(player.getColor());
+        long hostile = getPawns(Color.getOppositeColor(player.getColor()));
+        long empty = ~(whitePawns | blackPawns) & ALL_SLOTS;
+        long[][] targets = TARGETS[player.ordinal()];
+        int[][] encodedMoves = MOVES[player.ordinal()];
+        int count = 0;
+
+        while (pawns != 0) {
+
+            // Take the human's pawns from the lowest bit upwards and the
+            // machine's pawns from the highest bit downwards.
+            int from;
+            if (player == Player.HUMAN) {
+                from = Long.numberOfTrailingZeros(pawns);
+            } else {
+                from = Long.SIZE - 1 - Long.numberOfLeadingZeros(pawns);
+            }
+            pawns &= ~(1L << from);
+
+            if ((targets[LEFT][from] & hostile) != 0) {
+                moves[count++] = encodedMoves[LEFT][from];
+            }
+            if ((targets[AHEAD][from] & empty) != 0) {
+                moves[count++] = encodedMoves[AHEAD][from];
+
+                if ((targets[TWICE_AHEAD][from] & empty) != 0
+                        && (movedPawns & 1L << from) == 0) {
+                    moves[count++] = encodedMoves[TWICE_AHEAD][from];
+                }
+            }
+            if ((targets[RIGHT][from] & hostile) != 0) {
+                moves[count++] = encodedMoves[RIGHT][from];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies an instance of {@code BitBoard}. As the masks are primitives a
+     * shallow copy is a deep copy.
+     *
+     * @return Returns a clone of a board.
+     */
+    @Override
+    public Board clone() {
+        try {
+            return (BitBoard) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new Error(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPositionKey() {
+        return pawnsKey ^ Zobrist.nextPlayer(nextPlayer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof BitBoard)) {
+            return false;
+        } else {
+            final BitBoard other = (BitBoard) o;
+
+            return whitePawns == other.whitePawns
+                    && blackPawns == other.blackPawns
+                    && movedPawns == other.movedPawns
+                    && nextPlayer == other.nextPlayer;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getPositionKey());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLevel(int level) {
+        if (level < 0) {
+            throw new IllegalArgumentException("The level must not be "
+                    + "negative.");
+        } else {
+            Player.MACHINE.setLevel(level);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Color getSlot(int col, int row) {
+        if (col < 1 || col > SIZE || row < 1 || row > SIZE) {
+            throw new IllegalArgumentException("The given coordinates must be "
+                    + "within the board.");
+        }
+
+        long slot = toMask(col, row);
+        if ((whitePawns & slot) != 0) {
+            return Color.WHITE;
+        } else if ((blackPawns & slot) != 0) {
+            return Color.BLACK;
+        } else {
+            return Color.NONE;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfTiles(Player player) {
+        return Long.bitCount(getPawns(player.getColor()));
+    }
+
+    /**
+     * Getter for the pawn mask associated with the given color.
+     *
+     * @param color The color of the pawns whose mask is to be returned.
+     * @return The slots occupied by pawns of the given color.
+     */
+    private long getPawns(Color color) {
+        assert color != null;
+        if (color == Color.WHITE) {
+            return whitePawns;
+        } else {
+            return blackPawns;
+        }
+    }
+
+    /**
+     * Setter for the pawn mask associated with the given color.
+     *
+     * @param color The color of the pawns whose mask is to be set.
+     * @param pawns The slots occupied by pawns of the given color.
+     */
+    private void setPawns(Color color, long pawns) {
+        assert color != null;
+        if (color == Color.WHITE) {
+            whitePawns = pawns;
+        } else {
+            blackPawns = pawns;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Color getHumanColor() {
+        return Player.HUMAN.getColor();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Player getNextPlayer() {
+        return nextPlayer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (int row = SIZE; row >= 1; row--) {
+            for (int col = 1; col <= SIZE; col++) {
+                stringBuilder.append(getSlot(col, row).toString());
+                if (col != SIZE) {
+                    stringBuilder.append(" ");
+                }
+            }
+            if (row != 1) {
+                stringBuilder.append("\n");
+            }
+        }
+        return stringBuilder.toString();
+    }
+}
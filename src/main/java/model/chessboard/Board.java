@@ -2,6 +2,19 @@ package model.chessboard;
 
 import model.player.Player;
 import model.exceptions.IllegalMoveException;
+import model.search.AnalyzedMove;
+import model.search.EngineConfig;
+import model.search.SearchLimits;
+import model.search.SearchListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 /**
  * Interface for a Pawns Chess game, a lite variant of chess. The only tiles are
@@ -76,12 +89,203 @@ public interface Board extends Cloneable {
      * instance, which is treated here as immutable. Instead, a new board/game
      * is returned, which is a copy of {@code this} with the move executed.
      *
+     * The search can be cancelled by interrupting the calling thread, e.g.,
+     * because its move is no longer needed. It then stops within a few
+     * milliseconds.
+     *
      * @return A new board with the move executed.
      * @throws IllegalMoveException If the game is already over, or it is not
      *         the machine's turn.
+     * @throws CancellationException If the calling thread is interrupted
+     *         before the move has been found. The thread stays interrupted.
      */
     Board machineMove();
 
+    /**
+     * Executes a machine move which is searched within a time budget instead
+     * of to the depth given by the level. The machine looks ahead one move
+     * further at a time and executes the best move of the deepest search it
+     * completed in time. This method does not change the state of this
+     * instance, which is treated here as immutable. Instead, a new board/game
+     * is returned, which is a copy of {@code this} with the move executed.
+     * Interrupting the calling thread ends the search like the end of the
+     * budget.
+     *
+     * @param budget The time available to the machine for its move. It is
+     *        exceeded only if the machine cannot even look one move ahead in
+     *        time.
+     * @return A new board with the move executed.
+     * @throws IllegalMoveException If the game is already over, or it is not
+     *         the machine's turn.
+     * @throws IllegalArgumentException If the budget is not positive.
+     * @throws CancellationException If the calling thread is interrupted
+     *         before the machine has looked one move ahead. The thread stays
+     *         interrupted.
+     */
+    Board machineMove(Duration budget);
+
+    /**
+     * Executes a machine move which is searched within limits instead of to
+     * the depth given by the level. The machine looks ahead one move further
+     * at a time until a limit is reached and executes the best move of the
+     * deepest search it completed. This method does not change the state of
+     * this instance, which is treated here as immutable. Instead, a new
+     * board/game is returned, which is a copy of {@code this} with the move
+     * executed. Interrupting the calling thread ends the search like the end
+     * of the time.
+     *
+     * @param limits   The limits of the search.
+     * @param listener The listener which is informed about every completed
+     *        depth on the calling thread, or {@code null}.
+     * @return A new board with the move executed.
+     * @throws IllegalMoveException If the game is already over, or it is not
+     *         the machine's turn.
+     * @throws IllegalArgumentException If the limits are {@code null}.
+     * @throws CancellationException If the calling thread is interrupted
+     *         before the machine has looked one move ahead. The thread stays
+     *         interrupted.
+     */
+    Board machineMove(SearchLimits limits, SearchListener listener);
+
+    /**
+     * Analyzes the moves of the next player, who may be the machine or the
+     * human: the best moves are searched within limits like a machine move
+     * and returned with their values and the moves both players are expected
+     * to make after them. All moves are searched together at little more
+     * than the cost of a single machine move. This board is not changed.
+     *
+     * @param limits The limits of the search.
+     * @param k      The greatest number of moves which are returned.
+     * @return The best moves, the best first, with their values from the
+     *         perspective of the next player. There are fewer than {@code k}
+     *         if the next player has fewer moves.
+     * @throws IllegalMoveException If the game is already over, or the next
+     *         player has to miss a turn.
+     * @throws IllegalArgumentException If the limits are {@code null} or the
+     *         number of moves is not positive.
+     * @throws CancellationException If the calling thread is interrupted
+     *         before the moves have been looked at one move ahead. The thread
+     *         stays interrupted.
+     */
+    List<AnalyzedMove> analyze(SearchLimits limits, int k);
+
+    /**
+     * Suggests a move to the human: the best move is searched from the
+     * human's point of view until the given time has passed, as the machine
+     * searches its own moves. The suggestion comes with the moves both
+     * players are expected to make after it. This board is not changed.
+     * Interrupting the calling thread stops the search within a few
+     * milliseconds.
+     *
+     * @param latency The time after which the suggestion is returned.
+     * @return The suggested move with its value from the perspective of the
+     *         human and its principal variation.
+     * @throws IllegalMoveException If the game is already over, it is not the
+     *         human's turn, or the human has to miss a turn.
+     * @throws IllegalArgumentException If the time is not positive.
+     * @throws CancellationException If the calling thread is interrupted
+     *         before the moves have been looked at one move ahead. The thread
+     *         stays interrupted.
+     */
+    default AnalyzedMove hint(Duration latency) {
+        SearchLimits limits = SearchLimits.ofMovetime(latency);
+        if (getNextPlayer() != Player.HUMAN) {
+            throw new IllegalMoveException("It is not the human player's "
+                    + "turn.");
+        }
+        return analyze(limits, 1).get(0);
+    }
+
+    /**
+     * Suggests a move to the human like {@link #hint(Duration)}, but without
+     * blocking the caller. The search runs as a task of the given executor.
+     * Cancelling the returned future interrupts the search, which then stops
+     * within a few milliseconds.
+     *
+     * @param latency  The time after which the suggestion is returned.
+     * @param executor The executor which runs the search.
+     * @return A future which is completed with the suggested move, or
+     *         exceptionally with the exception thrown by the search.
+     * @throws IllegalArgumentException If the executor is {@code null}.
+     */
+    default CompletableFuture<AnalyzedMove> hintAsync(Duration latency,
+            Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor must not be "
+                    + "null.");
+        }
+        return runInterruptibly(() -> hint(latency), executor);
+    }
+
+    /**
+     * Executes a machine move like {@link #machineMove(SearchLimits,
+     * SearchListener)}, but without blocking the caller. The search runs as
+     * a task of the given executor, e.g., a pool or an executor which starts
+     * a virtual thread per task, and the listener is informed on its thread.
+     * Cancelling the returned future interrupts the search, which then stops
+     * within a few milliseconds.
+     *
+     * @param limits   The limits of the search.
+     * @param executor The executor which runs the search.
+     * @param listener The listener which is informed about every completed
+     *        depth, or {@code null}.
+     * @return A future which is completed with the new board, or
+     *         exceptionally with the exception thrown by the search, e.g., an
+     *         {@code IllegalMoveException} if it is not the machine's turn.
+     * @throws IllegalArgumentException If the limits or the executor are
+     *         {@code null}.
+     */
+    default CompletableFuture<Board> machineMoveAsync(SearchLimits limits,
+            Executor executor, SearchListener listener) {
+        if (limits == null || executor == null) {
+            throw new IllegalArgumentException("The search limits and the "
+                    + "executor must not be null.");
+        }
+        return runInterruptibly(() -> machineMove(limits, listener),
+                executor);
+    }
+
+    /**
+     * Runs a search as a task of an executor. Cancelling the returned future
+     * interrupts the thread which runs the search.
+     *
+     * @param search   The search.
+     * @param executor The executor which runs the search.
+     * @param <T>      The type of the result of the search.
+     * @return A future which is completed with the result of the search, or
+     *         exceptionally with the exception thrown by it.
+     */
+    private static <T> CompletableFuture<T> runInterruptibly(
+            Callable<T> search, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        // A future task interrupts the thread which runs it when cancelled,
+        // a completable future does not.
+        FutureTask<T> task = new FutureTask<>(search) {
+            @Override
+            protected void done() {
+                try {
+                    future.complete(get());
+                } catch (CancellationException e) {
+                    future.cancel(false);
+                } catch (ExecutionException e) {
+                    future.completeExceptionally(e.getCause());
+                } catch (InterruptedException e) {
+
+                    // The task is done, so get() does not wait.
+                    throw new AssertionError(e);
+                }
+            }
+        };
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        executor.execute(task);
+        return future;
+    }
+
     /**
      * Sets the skill level of the machine.
      *
@@ -89,6 +293,16 @@ public interface Board extends Cloneable {
      */
     void setLevel(int level);
 
+    /**
+     * Gets the settings of the searches of the machine's moves in this game.
+     * They are shared by all boards of the game, i.e., the boards which
+     * result from moves on this board, so changing them affects the next
+     * machine moves of the game but no other game.
+     *
+     * @return The settings of the engine.
+     */
+    EngineConfig getEngineConfig();
+
     /**
      * Checks if the game is over. Either one player has won or there is a draw,
      * i.e., no player can perform any further move.
@@ -124,6 +338,39 @@ public interface Board extends Cloneable {
      */
     Color getSlot(int col, int row);
 
+    /**
+     * Gets a 64-bit key of the current position, i.e., of the slots of all
+     * pawns, whether they have been moved and the next player. The key is a
+     * Zobrist hash, which is updated with a few exclusive ors whenever a move
+     * is executed. Equal boards have equal keys, while different positions
+     * collide only with negligible probability.
+     *
+     * @return The key of the position.
+     */
+    long getPositionKey();
+
+    /**
+     * Determines whether this board and another board of the same
+     * implementation represent the same position. That is, the same slots are
+     * occupied by pawns of the same color which have or have not been moved,
+     * and the same player moves next.
+     *
+     * @param o The board that is to be compared to.
+     * @return Return {@code true} if the positions are equal. Otherwise
+     * return {@code false}.
+     */
+    @Override
+    boolean equals(Object o);
+
+    /**
+     * Creates a hash code for the position, consistent with {@link
+     * #equals(Object)}.
+     *
+     * @return The hash code.
+     */
+    @Override
+    int hashCode();
+
     /**
      * Deep-copies the board.
      *
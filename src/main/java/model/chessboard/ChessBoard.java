@@ -1,11 +1,14 @@
 package model.chessboard;
 
 import model.exceptions.IllegalMoveException;
-import model.lookAheadTree.Node;
 import model.player.Player;
+import model.search.AnalyzedMove;
+import model.search.EngineConfig;
+import model.search.SearchLimits;
+import model.search.SearchListener;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -15,6 +18,14 @@ import java.util.List;
  */
 public class ChessBoard implements Board, Cloneable {
 
+    // The directions in which a pawn can move. Cached as values() creates a
+    // new array on every call.
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // The settings of the searches of the machine's moves in this game.
+    // Shared with all boards which result from moves on this board.
+    private final EngineConfig config;
+
     // The player who can move next.
     private Player nextPlayer;
 
@@ -24,6 +35,23 @@ public class ChessBoard implements Board, Cloneable {
     // The pawns of the player with the black color.
     private List<Pawn> blackPawns = new ArrayList<>();
 
+    // The Zobrist key of the pawns and their moved flags. The key of the next
+    // player is added by getPositionKey().
+    private long pawnsKey;
+
+    // Whether the human has no legal move. Updated by every move.
+    private boolean humanHasToSuspend;
+
+    // Whether the machine has no legal move. Updated by every move.
+    private boolean machineHasToSuspend;
+
+    // Whether the game is over. Updated by every move.
+    private boolean gameOver;
+
+    // The winner if the game is over, otherwise or in case of a draw null.
+    // Updated by every move.
+    private Player winner;
+
     /**
      * This is the constructor of an implementation of a {@code Board} for
      * pawns chess.
@@ -41,8 +69,26 @@ public class ChessBoard implements Board, Cloneable {
      *                                  the humanColor are not valid.
      */
     public ChessBoard(int level, Color humanColor) {
+        this(level, humanColor, new EngineConfig());
+    }
 
-        if (humanColor == null || humanColor == Color.NONE) {
+    /**
+     * Creates a board with the pawns in their initial positions, whose
+     * machine moves are searched with the given settings.
+     *
+     * @param level      The difficulty level of the machine player.
+     * @param humanColor The color of your pawns.
+     * @param config     The settings of the searches of the machine's moves
+     *                   in this game.
+     * @throws IllegalArgumentException If the level or the humanColor are not
+     *                                  valid or the settings are {@code
+     *                                  null}.
+     */
+    public ChessBoard(int level, Color humanColor, EngineConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("The engine settings must not "
+                    + "be null.");
+        } else if (humanColor == null || humanColor == Color.NONE) {
             throw new IllegalArgumentException("The human player has to have "
                     + "a valid color.");
         } else if (level < 1) {
@@ -54,6 +100,10 @@ public class ChessBoard implements Board, Cloneable {
             Player.MACHINE.setColor(Color.getOppositeColor(humanColor));
             nextPlayer = getOpeningPlayer();
         }
+        this.config = config;
+
+        // In the initial position, both players can move and the game is not
+        // over, so the status needs no update.
         createInitialPawnPositions();
     }
 
@@ -95,6 +145,24 @@ public class ChessBoard implements Board, Cloneable {
                     .add(new Pawn(j, SIZE));
             j--;
         }
+
+        for (Pawn whitePawn : whitePawns) {
+            pawnsKey ^= Zobrist.pawn(Color.WHITE, toIndex(whitePawn));
+        }
+        for (Pawn blackPawn : blackPawns) {
+            pawnsKey ^= Zobrist.pawn(Color.BLACK, toIndex(blackPawn));
+        }
+    }
+
+    /**
+     * Determines the index of the slot of a pawn as described by {@code
+     * Move}.
+     *
+     * @param pawn The pawn whose slot is examined.
+     * @return The index of the pawn's slot.
+     */
+    private static int toIndex(Pawn pawn) {
+        return Move.toIndex(pawn.getColumn(), pawn.getRow());
     }
 
     /**
@@ -299,330 +367,60 @@ public class ChessBoard implements Board, Cloneable {
 
         if (isLegalMove(pawn, colTo, rowTo)) {
 
+            Color color = getColor(pawn);
+
             // Determine whether a hostile pawn is at the finish position of
             // the move.
-            if (Color.getOppositeColor(getSlot(colTo, rowTo))
-                    == getColor(pawn)) {
+            if (Color.getOppositeColor(getSlot(colTo, rowTo)) == color) {
 
                 // Remove the pawn which is to be attacked.
-                getPawnsList(getSlot(colTo, rowTo)).remove(getPawn(colTo,
-                        rowTo));
+                Pawn attackedPawn = getPawn(colTo, rowTo);
+                pawnsKey ^= Zobrist.pawn(getColor(attackedPawn),
+                        toIndex(attackedPawn));
+                if (!attackedPawn.isOpeningMove()) {
+                    pawnsKey ^= Zobrist.moved(toIndex(attackedPawn));
+                }
+                getPawnsList(getSlot(colTo, rowTo)).remove(attackedPawn);
+            }
+
+            pawnsKey ^= Zobrist.pawn(color, toIndex(pawn));
+            if (!pawn.isOpeningMove()) {
+                pawnsKey ^= Zobrist.moved(toIndex(pawn));
             }
             pawn.setColumn(colTo);
             pawn.setRow(rowTo);
             pawn.setHasMoved();
+            pawnsKey ^= Zobrist.pawn(color, toIndex(pawn))
+                    ^ Zobrist.moved(toIndex(pawn));
+            updateStatus(color, rowTo);
         }
     }
 
     /**
-     * Creates a value for a Chessboard by inspecting the positions of the
-     * pawns. A high return value indicates a board favorable to the machine
-     * player.
-     *
-     * @param depth The depth which this board has within the look-ahead-tree
-     *              {@code Node} that determines the machines next move.
-     * @return The value of the board indicating if its pawns are in a
-     * favorable position.
-     */
-    private double createBoardRating(int depth) {
-        assert depth >= 0;
-
-        // List of humans pawns.
-        List<Pawn> humanPawns = getPawnsList(getHumanColor());
-
-        // List of machines pawns.
-        List<Pawn> machinePawns =
-                getPawnsList(Color.getOppositeColor(getHumanColor()));
-
-        double n = calculateValueN(humanPawns, machinePawns);
-
-        double d = calculateValueD(humanPawns, machinePawns);
-
-        double c = calculateValueC(humanPawns, machinePawns);
-
-        double i = calculateValueI(humanPawns, machinePawns);
-
-        double v = calculateValueV(humanPawns, machinePawns, depth);
-        return n + d + c + i + v;
-    }
-
-    /**
-     * Returns a value which indicates whether the amount of pawns for each
-     * player is in favor of the machine player.
-     *
-     * @param humanPawns   The list of pawns that belong to the human player.
-     * @param machinePawns The list of pawns that belong to the machine player.
-     * @return The value regarding the amount of pawns.
-     */
-    private double calculateValueN(List<Pawn> humanPawns,
-                                   List<Pawn> machinePawns) {
-        assert humanPawns != null && machinePawns != null;
-
-        return machinePawns.size() - 1.5 * humanPawns.size();
-    }
-
-    /**
-     * Returns a value which indicates whether the distance travelled by
-     * all pawns is favourable for the machine player.
-     *
-     * @param humanPawns   The list of pawns that belong to the human player.
-     * @param machinePawns The list of pawns that belong to the machine player.
-     * @return The value regarding the distance travelled by pawns.
-     */
-    private double calculateValueD(List<Pawn> humanPawns,
-                                   List<Pawn> machinePawns) {
-        assert humanPawns != null && machinePawns != null;
-
-        int machinePawnsMovedFactor = 0;
-        for (int i = 0; i < SIZE; i++) {
-
-            machinePawnsMovedFactor = machinePawnsMovedFactor
-                    + amountOfPawnsInRow(SIZE - i,
-                    machinePawns) * i;
-        }
-
-
-        int humanPawnsMovedFactor = 0;
-        for (int i = 0; i < SIZE; i++) {
-
-            humanPawnsMovedFactor =
-                    humanPawnsMovedFactor + amountOfPawnsInRow(i + 1,
-                            humanPawns) * i;
-        }
-
-        return machinePawnsMovedFactor - 1.5 * humanPawnsMovedFactor;
-    }
-
-    /**
-     * Returns a value which indicates whether the amount of pawns that are
-     * threatened but not protected is favourable to the machine player-
-     *
-     * @param humanPawns   The list of pawns that belong to the human player.
-     * @param machinePawns The list of pawns that belong to the machine player.
-     * @return The value regarding the amount of threatened pawns.
-     */
-    private double calculateValueC(List<Pawn> humanPawns,
-                                   List<Pawn> machinePawns) {
-        assert humanPawns != null && machinePawns != null;
-
-        List<Pawn> threatenedHumanPawns = new ArrayList<>();
-
-        // Create list of all human pawns that are threatened by machine pawns.
-        for (Pawn machinePawn : machinePawns) {
-            threatenedHumanPawns.addAll(determineThreatenedPawns(machinePawn));
-        }
-
-        // Remove all those human pawns that are protected by friendly pawns.
-        threatenedHumanPawns.removeIf(this::isPawnProtected);
-
-        // Remove duplicates.
-        threatenedHumanPawns =
-                new ArrayList<>(new HashSet<>(threatenedHumanPawns));
-
-        int amountOfThreatenedHumanPawns = threatenedHumanPawns.size();
-
-        List<Pawn> threatenedMachinePawns = new ArrayList<>();
-
-        // Create list of all machine pawns that are threatened by human pawns.
-        for (Pawn humanPawn : humanPawns) {
-            threatenedMachinePawns.addAll(determineThreatenedPawns(humanPawn));
-        }
-
-        // Remove all those machine pawns that are protected by friendly pawns.
-        threatenedMachinePawns.removeIf(this::isPawnProtected);
-
-        // Remove duplicates.
-        threatenedMachinePawns =
-                new ArrayList<>(new HashSet<>(threatenedMachinePawns));
-
-        int amountOfThreatenedMachinePawns = threatenedMachinePawns.size();
-
-        return amountOfThreatenedHumanPawns
-                - 1.5 * amountOfThreatenedMachinePawns;
-    }
-
-    /**
-     * Returns a value which indicates whether the amount of pawns that are
-     * isolated from other friendly pawns is favourable to the machine player.
-     *
-     * @param humanPawns   The list of pawns that belong to the human player.
-     * @param machinePawns The list of pawns that belong to the machine player.
-     * @return The value regarding the amount of isolated pawns.
-     */
-    private double calculateValueI(List<Pawn> humanPawns,
-                                   List<Pawn> machinePawns) {
-        assert humanPawns != null && machinePawns != null;
-
-        int amountOfIsolatedMachinePawns = 0;
-        for (Pawn machinePawn : machinePawns) {
-            if (isPawnIsolated(machinePawn)) {
-                amountOfIsolatedMachinePawns++;
-            }
-        }
-
-        int amountOfIsolatedHumanPawns = 0;
-        for (Pawn humanPawn : humanPawns) {
-            if (isPawnIsolated(humanPawn)) {
-                amountOfIsolatedHumanPawns++;
-            }
-        }
-
-        return amountOfIsolatedHumanPawns - 1.5 * amountOfIsolatedMachinePawns;
-    }
-
-    /**
-     * Returns a value which indicates whether the the winner of the board is
-     * the machine or the human in relationship with how many moves it would
-     * take the player to reach this win. This will always return zero if
-     * nobody has won this board.
-     *
-     * @param humanPawns   The list of pawns that belong to the human player.
-     * @param machinePawns The list of pawns that belong to the machine player.
-     * @param depth        The depth of the given board in the look-ahead tree
-     *                     that determines the machines next move.
-     * @return The value regarding the winner of the board.
-     */
-    private double calculateValueV(List<Pawn> humanPawns,
-                                   List<Pawn> machinePawns, int depth) {
-        assert humanPawns != null && machinePawns != null;
-
-        if (isGameOver() && depth != 0) {
-
-            // Player which might have won by playing the last move.
-            if (getWinner() == Player.HUMAN) {
-
-                // Case for if the human has won.
-                return -1.5 * 5000 / (double) depth;
-            } else if (getWinner() == Player.MACHINE) {
-
-                // Case for if the machine has won.
-                return 5000 / (double) depth;
-            } else {
-
-                // Case for ig there is a draw.
-                return 0;
-            }
-        } else {
-
-            // Victory value for the root or if the game has not yet ended.
-            return 0;
-        }
-    }
-
-    /**
-     * Determines whether a pawn has neighbors within a one tile radius from
-     * the same player.
-     *
-     * @param pawn The pawn which is examined for neighbors.
-     * @return Return {@code true} if the pawn does not have neighbors from
-     * the same player. Otherwise return {@code false}.
-     */
-    private boolean isPawnIsolated(Pawn pawn) {
-
-        assert pawn != null;
-        assert whitePawns.contains(pawn) || blackPawns.contains(pawn);
-
-        //Circles around the pawns position
-        for (int col = -1; col <= 1; col++) {
-            for (int row = -1; row <= 1; row++) {
-
-                // The pawn that is neighboring and from the same player.
-                Pawn possibleNeighborPawn;
-
-                possibleNeighborPawn = getPawn(pawn.getColumn() + col,
-                        pawn.getRow() + row);
-
-                if (possibleNeighborPawn != null
-                        && !possibleNeighborPawn.equals(pawn)
-                        && getColor(possibleNeighborPawn)
-                        == getColor(pawn)) {
-
-                    // If there is another pawn from the same player the pawn
-                    // is not isolated.
-                    return false;
-                }
-            }
-        }
-
-        // If there is no other pawn from the same player the pawn is isolated.
-        return true;
-    }
-
-    /**
-     * Determines which hostile pawns could be attacked by the given pawn.
+     * Updates the status of the game after a move, so that {@link
+     * #isGameOver()}, {@link #getWinner()} and {@link #hasToSuspend(Player)}
+     * only have to read it. Whether the move ended the game follows from the
+     * move itself: the game ends if the pawn has reached the opponent's base
+     * row, the opponent has lost his last pawn or neither player can move.
      *
-     * @param pawn Pawn which is is tested on whether he can attack hostile
-     *             pawns.
-     * @return List of hostile pawns which are threatened. {@code null} if
-     * there are none.
+     * @param color The color of the moved pawn.
+     * @param rowTo The row to which the pawn has been moved.
      */
-    private List<Pawn> determineThreatenedPawns(Pawn pawn) {
-
-        assert pawn != null;
-        assert whitePawns.contains(pawn) || blackPawns.contains(pawn);
-
-        List<Pawn> threatenedPawns = new ArrayList<>();
-        Color pawnColor = getColor(pawn);
-
-        int flag; // Indicator for the direction in which the pawn is facing.
-        if (pawnColor != getHumanColor()) {
-            flag = -1; // Pawn is facing south;
-        } else {
-            flag = 1; // Pawn is facing north
-        }
+    private void updateStatus(Color color, int rowTo) {
+        humanHasToSuspend = !hasLegalMove(Player.HUMAN);
+        machineHasToSuspend = !hasLegalMove(Player.MACHINE);
 
-        Pawn attackedPawn = getPawn(pawn.getColumn() - 1,
-                pawn.getRow() + flag);
-
-        // Add to list if diagonal left attack possible.
-        if (attackedPawn != null
-                && Color.getOppositeColor(pawnColor)
-                == getColor(attackedPawn)) {
-            threatenedPawns.add(attackedPawn);
+        Player mover = color == getHumanColor() ? Player.HUMAN
+                : Player.MACHINE;
+        int baseRow = mover == Player.HUMAN ? SIZE : 1;
+        if (rowTo == baseRow
+                || getPawnsList(Color.getOppositeColor(color)).isEmpty()) {
+            gameOver = true;
+            winner = mover;
+        } else if (humanHasToSuspend && machineHasToSuspend) {
+            gameOver = true;
+            winner = determineWinner();
         }
-
-        attackedPawn = getPawn(pawn.getColumn() + 1,
-                pawn.getRow() + flag);
-
-        // Add to list if diagonal right attack possible.
-        if (attackedPawn != null
-                && Color.getOppositeColor(pawnColor)
-                == getColor(attackedPawn)) {
-            threatenedPawns.add(attackedPawn);
-        }
-        return threatenedPawns;
-    }
-
-    /**
-     * Determines if a pawn is protected by one or more friendly pawns.
-     *
-     * @param pawn The pawn that is examined.
-     * @return Return {@code true} if the pawn has protection. Otherwise
-     * return {@code false}.
-     */
-    private boolean isPawnProtected(Pawn pawn) {
-
-        assert pawn != null;
-        assert whitePawns.contains(pawn) || blackPawns.contains(pawn);
-
-        int flag; // Indicator for the direction in which the pawn is facing.
-        if (getColor(pawn) != getHumanColor()) {
-            flag = -1; // Pawn is facing south;
-        } else {
-            flag = 1; // Pawn is facing north
-        }
-
-        // The pawn that would be protecting from the left side.
-        Pawn leftBehind = getPawn(pawn.getColumn() - 1,
-                pawn.getRow() - flag);
-
-        // The pawn that would be protecting from the right side.
-        Pawn rightBehind = getPawn(pawn.getColumn() + 1,
-                pawn.getRow() - flag);
-
-        // Determine whether the pawn is protected either from the left or
-        // the right.
-        return rightBehind != null || leftBehind != null;
     }
 
     /**
@@ -651,28 +449,7 @@ public class ChessBoard implements Board, Cloneable {
      */
     @Override
     public boolean isGameOver() {
-
-        //List of pawns that start in the upper row.
-        List<Pawn> upperRowPawns
-                = getPawnsList(Color.getOppositeColor(getHumanColor()));
-
-        // List pawns that start in the lowest row.
-        List<Pawn> lowerRowPawns = getPawnsList(getHumanColor());
-
-        // Determine if one player has run out of pawns.
-        if (upperRowPawns.isEmpty() || lowerRowPawns.isEmpty()) {
-            return true;
-        }
-
-        // Determine whether a pawn has reached his final row.
-        if (amountOfPawnsInRow(1, upperRowPawns) > 0
-                || amountOfPawnsInRow(8, lowerRowPawns) > 0) {
-            return true;
-        } else {
-
-            // Determine whether there is a legal move left.
-            return hasToSuspend(Player.MACHINE) && hasToSuspend(Player.HUMAN);
-        }
+        return gameOver;
     }
 
     /**
@@ -683,6 +460,16 @@ public class ChessBoard implements Board, Cloneable {
         if (!isGameOver()) {
             throw new IllegalCallerException("This game has not ended.");
         }
+        return winner;
+    }
+
+    /**
+     * Determines the winner from the positions of the pawns. The game has to
+     * be over.
+     *
+     * @return The winner or {@code null} in case of a draw.
+     */
+    private Player determineWinner() {
 
         // List of pawns belonging to machine player.
         List<Pawn> machinePawns = getPawnsList(
@@ -729,10 +516,64 @@ public class ChessBoard implements Board, Cloneable {
 
     /**
      * {@inheritDoc}
+     *
+     * The move is chosen by a {@code BitBoard} with the same pawns and
+     * engine settings, as described by {@link BitBoard#machineMove()}, and
+     * executed on a copy of this board.
      */
     @Override
     public Board machineMove() throws IllegalMoveException {
+        checkMachineCanMove();
+        return replayMachineMove(toBitBoard().machineMove());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The move is searched on a {@code BitBoard} with the same pawns, which
+     * looks much further ahead within the same time.
+     */
+    @Override
+    public Board machineMove(Duration budget) throws IllegalMoveException {
+        return machineMove(SearchLimits.ofMovetime(budget), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The move is chosen by a {@code BitBoard} with the same pawns and
+     * engine settings, as described by {@link BitBoard#machineMove(
+     * SearchLimits, SearchListener)}, and executed on a copy of this board.
+     */
+    @Override
+    public Board machineMove(SearchLimits limits, SearchListener listener)
+            throws IllegalMoveException {
+        if (limits == null) {
+            throw new IllegalArgumentException("The search limits must not "
+                    + "be null.");
+        }
+        checkMachineCanMove();
+        return replayMachineMove(toBitBoard().machineMove(limits, listener));
+    }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The moves are analyzed on a {@code BitBoard} with the same pawns.
+     */
+    @Override
+    public List<AnalyzedMove> analyze(SearchLimits limits, int k)
+            throws IllegalMoveException {
+        return toBitBoard().analyze(limits, k);
+    }
+
+    /**
+     * Makes sure that the machine can move on this board.
+     *
+     * @throws IllegalMoveException If it is not the machine's turn, the game
+     *                              is over or the machine has to suspend.
+     */
+    private void checkMachineCanMove() throws IllegalMoveException {
         if (nextPlayer != Player.MACHINE) {
             throw new IllegalMoveException("It is not the machine player's "
                     + "turn.");
@@ -741,92 +582,93 @@ public class ChessBoard implements Board, Cloneable {
                     + " game is already finished.");
         } else if (hasToSuspend(Player.MACHINE)) {
             throw new IllegalMoveException("Machine must miss a turn.");
-        } else {
-
-            // Board on which the move is executed.
-            ChessBoard newBoard = (ChessBoard) this.clone();
-
-            // Create a look-ahead tree with which the best next move for the
-            // machine will be determined.
-            Node<ChessBoard> root = new Node<>(newBoard, 0);
-            newBoard.constructTree(root, Player.MACHINE.getLevel());
-            newBoard.assignValues(root);
-
-            ChessBoard bestMove = root.getMaxChild().getContent();
-
-            if (bestMove.hasToSuspend(Player.HUMAN)) {
-                bestMove.nextPlayer = Player.MACHINE;
-            } else {
-                bestMove.nextPlayer = Player.HUMAN;
-            }
-            return  bestMove;
         }
     }
 
     /**
-     * Recursively constructs a sub tree of node with possible moves.
+     * Executes the move of the machine which has led from this board to a
+     * board of another representation on a copy of this board. The move is
+     * found by comparing the pawns of the machine on both boards.
      *
-     * @param node  The root of the sub tree.
-     * @param level The difficulty level of the machine if the node is the
-     *              actual root. Otherwise it is the machine level subtracted
-     *              by the depth in the tree.
-     */
-    private void constructTree(Node<ChessBoard> node, int level) {
-        assert node != null;
-        if (level > 0) {
-
-            // Create child nodes for node.
-            for (ChessBoard possibleMove : possibleMoves(nextPlayer)) {
-                Node<ChessBoard> child =
-                        new Node<>(possibleMove, level - 1);
-
-                node.addChild(child);
-                possibleMove.constructTree(child, level - 1);
+     * @param newBoard The board with the move of the machine executed.
+     * @return The copy with the move executed.
+     */
+    private ChessBoard replayMachineMove(Board newBoard) {
+        Color machineColor = Player.MACHINE.getColor();
+        int colFrom = 0;
+        int rowFrom = 0;
+        int colTo = 0;
+        int rowTo = 0;
+        for (int col = 1; col <= SIZE; col++) {
+            for (int row = 1; row <= SIZE; row++) {
+                boolean before = getSlot(col, row) == machineColor;
+                boolean after = newBoard.getSlot(col, row) == machineColor;
+                if (before && !after) {
+                    colFrom = col;
+                    rowFrom = row;
+                } else if (after && !before) {
+                    colTo = col;
+                    rowTo = row;
+                }
             }
         }
+        return executeMachineMove(Move.create(colFrom, rowFrom, colTo,
+                rowTo));
     }
 
     /**
-     * Recursivel assigns values to the boards within the tree represented by
-     * the {@code node}. A min-max algorithm is employed.
+     * Executes a move of the machine on a copy of this board.
      *
-     * @param node The node representing the root of the tree for which the
-     *             values are assigned.
+     * @param move The move chosen for the machine, encoded as described by
+     *             {@code Move}.
+     * @return The copy with the move executed.
      */
-    private void assignValues(Node<ChessBoard> node) {
-
-        assert node != null;
+    private ChessBoard executeMachineMove(int move) {
 
-        //TODO Die ganze node.getContent sache ist unschön aber notwendig?
-        if (node.getChildren().isEmpty()) {
+        // Board on which the move is executed.
+        ChessBoard newBoard = (ChessBoard) this.clone();
+        newBoard.makeMove(newBoard.getPawn(Move.getColFrom(move),
+                Move.getRowFrom(move)), Move.getColTo(move),
+                Move.getRowTo(move));
+        newBoard.updateNextPlayerAfterMachineMove();
+        return newBoard;
+    }
 
-            // Assign a value to a leaf node.
-            node.setValue(node.getContent()
-                    .createBoardRating(node.getHeight()));
+    /**
+     * Sets the next player of a board on which the machine has just moved.
+     * That is the human, unless he has to suspend.
+     */
+    private void updateNextPlayerAfterMachineMove() {
+        if (hasToSuspend(Player.HUMAN)) {
+            nextPlayer = Player.MACHINE;
         } else {
+            nextPlayer = Player.HUMAN;
+        }
+    }
 
-            // Recursively assign values to children.
-            for (Node<ChessBoard> child : node.getChildren()) {
-
-                if (child.getValue() == Integer.MIN_VALUE) {
-
-                    // If the child does not have a calculated value.
-                    child.getContent().assignValues(child);
-                }
-
+    /**
+     * Creates a {@code BitBoard} with the same pawns, next player and engine
+     * settings as this board.
+     *
+     * @return The bitboard of this board.
+     */
+    private BitBoard toBitBoard() {
+        long white = 0;
+        long black = 0;
+        long moved = 0;
+        for (Pawn whitePawn : whitePawns) {
+            white |= 1L << toIndex(whitePawn);
+            if (!whitePawn.isOpeningMove()) {
+                moved |= 1L << toIndex(whitePawn);
             }
-
-            // Assign a value to an inner node.
-            if (getNextPlayer() == Player.HUMAN) {
-                node.setValue(node.getContent()
-                        .createBoardRating(node.getHeight())
-                        + node.getMinChild().getValue());
-            } else {
-                node.setValue(node.getContent()
-                        .createBoardRating(node.getHeight())
-                        + node.getMaxChild().getValue());
+        }
+        for (Pawn blackPawn : blackPawns) {
+            black |= 1L << toIndex(blackPawn);
+            if (!blackPawn.isOpeningMove()) {
+                moved |= 1L << toIndex(blackPawn);
             }
         }
+        return new BitBoard(nextPlayer, white, black, moved, config);
     }
 
     /**
@@ -837,30 +679,61 @@ public class ChessBoard implements Board, Cloneable {
      * {@code false} otherwise.
      */
     private boolean hasToSuspend(Player player) {
-        return possibleMoves(player).isEmpty();
+        if (player == Player.HUMAN) {
+            return humanHasToSuspend;
+        } else {
+            return machineHasToSuspend;
+        }
     }
 
     /**
-     * Determines all the moves that a player can make in a left to right
-     * order (a normal move forward comes before a double move forward).
+     * Determines whether a player can make at least one move. No boards are
+     * created and the search stops at the first legal move found.
      *
      * @param player The player whose pawns are examined.
-     * @return A list of boards where each board has a possible move executed
-     * on itself.
+     * @return Return {@code true} if the player has a legal move. Return
+     * {@code false} otherwise.
      */
-    private List<ChessBoard> possibleMoves(Player player) {
+    private boolean hasLegalMove(Player player) {
 
         // Assign parameter player as next player in order to accurately
         // determine the legality of possible moves.
         Player actualNextPlayer = nextPlayer;
         nextPlayer = player;
 
-        // List of pawns out of whose moves the children nodes will be
-        // constructed.
-        List<Pawn> pawns = getPawnsList(player.getColor());
+        boolean hasLegalMove = false;
+        for (Pawn pawn : getPawnsList(player.getColor())) {
+            for (Direction direction : DIRECTIONS) {
+                if (direction != Direction.ILLEGAL_DIRECTION
+                        && isLegalMove(pawn,
+                        determineColumnTo(pawn, direction, player),
+                        determineRowTo(pawn, direction, player))) {
+                    hasLegalMove = true;
+                    break;
+                }
+            }
+            if (hasLegalMove) {
+                break;
+            }
+        }
 
-        // List of possibleMoves by the given player.
-        List<ChessBoard> possibleMoves = new ArrayList<>();
+        // Reassign the actual next player to be the next player again.
+        nextPlayer = actualNextPlayer;
+        return hasLegalMove;
+    }
+
+    /**
+     * Determines the column to which a pawn would move in a given direction.
+     *
+     * @param pawn      The pawn which is to be moved.
+     * @param direction The direction of the move. Must not be {@code
+     *                  Direction.ILLEGAL_DIRECTION}.
+     * @param player    The player who owns the pawn.
+     * @return The column of the destination. It might lie outside the board.
+     */
+    private int determineColumnTo(Pawn pawn, Direction direction,
+                                  Player player) {
+        assert direction != Direction.ILLEGAL_DIRECTION;
 
         int flag; // Indicator for the direction in which the pawn is facing.
         if (player == Player.MACHINE) {
@@ -869,45 +742,40 @@ public class ChessBoard implements Board, Cloneable {
             flag = 1; // Pawn is facing north
         }
 
-        for (Pawn pawn : pawns) {
-            for (Direction direction : Direction.values()) {
-                if (direction != Direction.ILLEGAL_DIRECTION) {
-                    int colTo;
-                    int rowTo;
-                    if (direction == Direction.FORWARD) {
-                        colTo = pawn.getColumn();
-                        rowTo = pawn.getRow() + flag;
-                    } else if (direction == Direction.DOUBLE_FORWARD) {
-                        colTo = pawn.getColumn();
-                        rowTo = pawn.getRow() + 2 * flag;
-                    } else if (direction == Direction.DIAGONAL_LEFT) {
-                        colTo = pawn.getColumn() - flag;
-                        rowTo = pawn.getRow() + flag;
-                    } else {
-                        colTo = pawn.getColumn() + flag;
-                        rowTo = pawn.getRow() + flag;
-                    }
-
-                    // Determine if the move is legal and an actual movement
-                    // takes place.
-                    if (isLegalMove(pawn, colTo, rowTo)) {
-
-                        ChessBoard boardClone = (ChessBoard) this.clone();
+        if (direction == Direction.DIAGONAL_LEFT) {
+            return pawn.getColumn() - flag;
+        } else if (direction == Direction.DIAGONAL_RIGHT) {
+            return pawn.getColumn() + flag;
+        } else {
+            return pawn.getColumn();
+        }
+    }
 
-                        boardClone.makeMove(boardClone.getPawn(pawn.getColumn(),
-                                pawn.getRow()), colTo, rowTo);
+    /**
+     * Determines the row to which a pawn would move in a given direction.
+     *
+     * @param pawn      The pawn which is to be moved.
+     * @param direction The direction of the move. Must not be {@code
+     *                  Direction.ILLEGAL_DIRECTION}.
+     * @param player    The player who owns the pawn.
+     * @return The row of the destination. It might lie outside the board.
+     */
+    private int determineRowTo(Pawn pawn, Direction direction,
+                               Player player) {
+        assert direction != Direction.ILLEGAL_DIRECTION;
 
-                        boardClone.nextPlayer
-                                = Player.getOppositePlayer(player);
-                        possibleMoves.add(boardClone);
-                    }
-                }
-            }
+        int flag; // Indicator for the direction in which the pawn is facing.
+        if (player == Player.MACHINE) {
+            flag = -1; // Pawn is facing south;
+        } else {
+            flag = 1; // Pawn is facing north
         }
 
-        // Reassign the actual next player to be the next player again;
-        nextPlayer = actualNextPlayer;
-        return possibleMoves;
+        if (direction == Direction.DOUBLE_FORWARD) {
+            return pawn.getRow() + 2 * flag;
+        } else {
+            return pawn.getRow() + flag;
+        }
     }
 
     /**
@@ -942,6 +810,46 @@ public class ChessBoard implements Board, Cloneable {
         return copy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPositionKey() {
+        return pawnsKey ^ Zobrist.nextPlayer(nextPlayer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof ChessBoard)) {
+            return false;
+        } else {
+            final ChessBoard other = (ChessBoard) o;
+
+            // Compare the keys first, as they differ for almost all unequal
+            // positions. The order of the pawns within the lists does not
+            // matter.
+            return getPositionKey() == other.getPositionKey()
+                    && nextPlayer == other.nextPlayer
+                    && whitePawns.size() == other.whitePawns.size()
+                    && blackPawns.size() == other.blackPawns.size()
+                    && whitePawns.containsAll(other.whitePawns)
+                    && blackPawns.containsAll(other.blackPawns);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getPositionKey());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -955,6 +863,14 @@ public class ChessBoard implements Board, Cloneable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EngineConfig getEngineConfig() {
+        return config;
+    }
+
     /**
      * Returns a pawn in a specified position. If there is no pawn at that
      * place null will be returned.
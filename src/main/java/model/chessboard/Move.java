@@ -0,0 +1,204 @@
+package model.chessboard;
+
+/**
+ * Utility methods for moves which are packed into a single {@code int}. Boards
+ * identify the slots of the grid by an index, where the slot in column
+ * {@code col} and row {@code row} has the index {@code (row - 1) * SIZE +
+ * (col - 1)}. The bits of a move are used as follows:
+ *
+ * <ul>
+ * <li>bits 0 to 5: the index of the slot from which the pawn is moved,</li>
+ * <li>bits 6 to 11: the index of the slot to which the pawn is moved,</li>
+ * <li>bit 12: the move attacks a hostile pawn,</li>
+ * <li>bit 13: the pawn moves two slots straight ahead.</li>
+ * </ul>
+ *
+ * Moves are generated into reusable {@code int} arrays by {@link
+ * BitBoard#generateMoves(int[])}, so that no objects are created for them.
+ */
+public final class Move {
+
+    /**
+     * A value that does not represent any move.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * The maximum number of moves a player can have. Each of his pawns can
+     * move at most in the four directions of {@code Direction}.
+     */
+    public static final int MAX_MOVES = 4 * Board.SIZE;
+
+    // The number of bits used to store the index of one slot.
+    private static final int SLOT_BITS = 6;
+
+    // A mask extracting the index of one slot.
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    // The flag of a move that attacks a hostile pawn.
+    private static final int CAPTURE = 1 << (2 * SLOT_BITS);
+
+    // The flag of a move that moves a pawn two slots straight ahead.
+    private static final int DOUBLE_STEP = CAPTURE << 1;
+
+    /**
+     * Private constructor for the Move class. Do not attempt to use this.
+     */
+    private Move() {
+    }
+
+    /**
+     * Encodes a move between two slots given by their indices.
+     *
+     * @param from       The index of the slot of the pawn to be moved.
+     * @param to         The index of the slot to which the pawn is moved.
+     * @param capture    Whether the move attacks a hostile pawn.
+     * @param doubleStep Whether the pawn moves two slots straight ahead.
+     * @return The encoded move.
+     */
+    static int create(int from, int to, boolean capture, boolean doubleStep) {
+        assert from >= 0 && from < Board.SIZE * Board.SIZE
+                && to >= 0 && to < Board.SIZE * Board.SIZE && from != to;
+
+        int move = from | to << SLOT_BITS;
+        if (capture) {
+            move |= CAPTURE;
+        }
+        if (doubleStep) {
+            move |= DOUBLE_STEP;
+        }
+        return move;
+    }
+
+    /**
+     * Encodes a move between two slots given by their coordinates. The flags
+     * of the move are not set, they are only known to a board. {@link
+     * BitBoard#makeMove(int)} accepts such moves nevertheless.
+     *
+     * @param colFrom The slot's column number from which the pawn is moved.
+     * @param rowFrom The slot's row number from which the pawn is moved.
+     * @param colTo   The slot's column number to which the pawn is moved.
+     * @param rowTo   The slot's row number to which the pawn is moved.
+     * @return The encoded move.
+     * @throws IllegalArgumentException If one of the slots is outside the
+     *                                  grid or both slots are the same.
+     */
+    public static int create(int colFrom, int rowFrom, int colTo, int rowTo) {
+        if (colFrom < 1 || colFrom > Board.SIZE || rowFrom < 1
+                || rowFrom > Board.SIZE || colTo < 1 || colTo > Board.SIZE
+                || rowTo < 1 || rowTo > Board.SIZE) {
+            throw new IllegalArgumentException("The move must occur within "
+                    + "the board!");
+        } else if (colFrom == colTo && rowFrom == rowTo) {
+            throw new IllegalArgumentException("The pawn has to leave its "
+                    + "slot.");
+        }
+        return create(toIndex(colFrom, rowFrom), toIndex(colTo, rowTo),
+                false, false);
+    }
+
+    /**
+     * Determines the index of a slot.
+     *
+     * @param col The column of the slot.
+     * @param row The row of the slot.
+     * @return The index of the slot.
+     */
+    static int toIndex(int col, int row) {
+        return (row - 1) * Board.SIZE + (col - 1);
+    }
+
+    /**
+     * Gets the index of the slot from which the pawn is moved.
+     *
+     * @param move The encoded move.
+     * @return The index of the slot of origin.
+     */
+    public static int getFrom(int move) {
+        return move & SLOT_MASK;
+    }
+
+    /**
+     * Gets the index of the slot to which the pawn is moved.
+     *
+     * @param move The encoded move.
+     * @return The index of the slot of destination.
+     */
+    public static int getTo(int move) {
+        return move >>> SLOT_BITS & SLOT_MASK;
+    }
+
+    /**
+     * Gets the column of the slot from which the pawn is moved.
+     *
+     * @param move The encoded move.
+     * @return The column of origin.
+     */
+    public static int getColFrom(int move) {
+        return getFrom(move) % Board.SIZE + 1;
+    }
+
+    /**
+     * Gets the row of the slot from which the pawn is moved.
+     *
+     * @param move The encoded move.
+     * @return The row of origin.
+     */
+    public static int getRowFrom(int move) {
+        return getFrom(move) / Board.SIZE + 1;
+    }
+
+    /**
+     * Gets the column of the slot to which the pawn is moved.
+     *
+     * @param move The encoded move.
+     * @return The column of destination.
+     */
+    public static int getColTo(int move) {
+        return getTo(move) % Board.SIZE + 1;
+    }
+
+    /**
+     * Gets the row of the slot to which the pawn is moved.
+     *
+     * @param move The encoded move.
+     * @return The row of destination.
+     */
+    public static int getRowTo(int move) {
+        return getTo(move) / Board.SIZE + 1;
+    }
+
+    /**
+     * Determines whether a move attacks a hostile pawn.
+     *
+     * @param move The encoded move.
+     * @return Return {@code true} if the move is an attack. Otherwise return
+     * {@code false}.
+     */
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    /**
+     * Determines whether a move moves a pawn two slots straight ahead.
+     *
+     * @param move The encoded move.
+     * @return Return {@code true} if the move is a double move. Otherwise
+     * return {@code false}.
+     */
+    public static boolean isDoubleStep(int move) {
+        return (move & DOUBLE_STEP) != 0;
+    }
+
+    /**
+     * Gets the string representation of a move as the coordinates of its
+     * slots, e.g., {@code (1, 2) -> (1, 4)}.
+     *
+     * @param move The encoded move.
+     * @return The string representation of the move.
+     */
+    public static String toString(int move) {
+        return "(" + getColFrom(move) + ", " + getRowFrom(move) + ") -> ("
+                + getColTo(move) + ", " + getRowTo(move) + ")";
+    }
+}
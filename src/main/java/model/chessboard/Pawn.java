@@ -91,10 +91,13 @@ public class Pawn implements Cloneable {
 
     /**
      * Creates a hash code for a given pawn.
+     *
+     * @return The hash code combining the position and the {@code hasMoved}
+     * property of the pawn.
      */
     @Override
     public int hashCode() {
-        return (column + "," + row + "," + hasMoved).hashCode();
+        return 2 * (Board.SIZE * column + row) + (hasMoved ? 1 : 0);
     }
 
     /**
@@ -0,0 +1,120 @@
+package model.chessboard;
+
+import model.player.Player;
+
+import java.util.Random;
+
+/**
+ * Random keys for the Zobrist hashing of positions. The key of a position is
+ * the exclusive or of the keys of all its features: a pawn of a color on a
+ * slot, a moved pawn on a slot and the machine being the next player. When a
+ * move is executed, only the keys of the changed features have to be xored
+ * into the key of the position.
+ */
+final class Zobrist {
+
+    // The seed of the random keys. Fixed, so that keys are reproducible.
+    private static final long SEED = 0x5A0B215FL;
+
+    // The keys of pawns, indexed by the ordinal of their color and the index
+    // of their slot.
+    private static final long[][] PAWN_KEYS = new long[2][Board.SIZE
+            * Board.SIZE];
+
+    // The keys of moved pawns, indexed by the index of their slot.
+    private static final long[] MOVED_KEYS = new long[Board.SIZE * Board.SIZE];
+
+    // The key of the machine being the next player.
+    private static final long MACHINE_NEXT_KEY;
+
+    static {
+        Random random = new Random(SEED);
+        for (long[] keys : PAWN_KEYS) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                keys[slot] = random.nextLong();
+            }
+        }
+        for (int slot = 0; slot < MOVED_KEYS.length; slot++) {
+            MOVED_KEYS[slot] = random.nextLong();
+        }
+        MACHINE_NEXT_KEY = random.nextLong();
+    }
+
+    /**
+     * Private constructor for the Zobrist class. Do not attempt to use this.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a pawn of the given color on a slot.
+     *
+     * @param color The color of the pawn. Either {@code Color.WHITE} or
+     *              {@code Color.BLACK}.
+     * @param slot  The index of the slot as described by {@code Move}.
+     * @return The key of the pawn.
+     */
+    static long pawn(Color color, int slot) {
+        assert color == Color.WHITE || color == Color.BLACK;
+
+        return PAWN_KEYS[color.ordinal()][slot];
+    }
+
+    /**
+     * Gets the key of a moved pawn on a slot.
+     *
+     * @param slot The index of the slot as described by {@code Move}.
+     * @return The key of the moved pawn.
+     */
+    static long moved(int slot) {
+        return MOVED_KEYS[slot];
+    }
+
+    /**
+     * Gets the combined key of all pawns of a mask.
+     *
+     * @param color The color of the pawns. Either {@code Color.WHITE} or
+     *              {@code Color.BLACK}.
+     * @param pawns The slots of the pawns, the slot with the index {@code i}
+     *              being represented by the bit {@code i}.
+     * @return The key of the pawns.
+     */
+    static long pawns(Color color, long pawns) {
+        long key = 0;
+        while (pawns != 0) {
+            key ^= pawn(color, Long.numberOfTrailingZeros(pawns));
+            pawns &= pawns - 1;
+        }
+        return key;
+    }
+
+    /**
+     * Gets the combined key of all moved pawns of a mask.
+     *
+     * @param movedPawns The slots of the moved pawns, the slot with the index
+     *                   {@code i} being represented by the bit {@code i}.
+     * @return The key of the moved pawns.
+     */
+    static long movedPawns(long movedPawns) {
+        long key = 0;
+        while (movedPawns != 0) {
+            key ^= moved(Long.numberOfTrailingZeros(movedPawns));
+            movedPawns &= movedPawns - 1;
+        }
+        return key;
+    }
+
+    /**
+     * Gets the key of the next player.
+     *
+     * @param nextPlayer The player who can move next.
+     * @return The key of the next player.
+     */
+    static long nextPlayer(Player nextPlayer) {
+        if (nextPlayer == Player.MACHINE) {
+            return MACHINE_NEXT_KEY;
+        } else {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,1477 @@
+package model.search;
+
+import model.chessboard.BitBoard;
+import model.chessboard.Board;
+import model.chessboard.Move;
+import model.player.Player;
+
+import java.io.Serial;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A depth-first alpha-beta search for the best move of the machine player. It
+ * walks the game tree on a single {@code BitBoard} by executing and taking
+ * back moves, so that no tree is held in memory. The memory retained by a
+ * search only grows with its depth and is reported by {@link
+ * #getStatistics()}.
+ *
+ * The value of a board is the same as in a complete look-ahead tree: its
+ * rating plus the value of its best child from the perspective of the next
+ * player, or only its rating if the next player has no legal move. Boards
+ * are rated with their height in the tree, i.e., the number of moves which
+ * could still be made below them. A board at the maximum depth is not simply
+ * rated, as a pending capture would be ignored. Instead, a quiescence search
+ * follows captures and moves onto the last row until the board is quiet.
+ * Alpha-beta pruning only skips subtrees whose value cannot change the best
+ * move, so the same move is chosen as by a min-max search over the complete
+ * tree.
+ *
+ * The moves of a board are searched in stages: the best move stored for the
+ * board in the transposition table first, then the others by the rating of
+ * the board they lead to. Boards whose children are leaves do not rate their
+ * children, as that would cost as much as searching them. Their moves follow
+ * the stored move as captures and moves onto the last row, killer moves,
+ * i.e., quiet moves which caused a cutoff on the same ply before, and quiet
+ * moves by their history score. The moves of the root are always searched in
+ * the order of generation, as it decides between moves of equal value.
+ *
+ * As the first move is most likely the best, it is searched as principal
+ * variation with the full window. Every further move is first searched with
+ * a null window, which only proves that it is not better, and only searched
+ * again with the full window if it turns out to be better.
+ *
+ * Given a pool of threads, boards are searched by young brothers wait: the
+ * first move of a board is searched alone, as it most likely is the best
+ * one or refutes the board. Only then its younger siblings are handed to
+ * the pool as tasks, which idle threads steal and search on their own copy
+ * of the board, splitting again further down. The tasks of a board share
+ * the value of the best move found so far as bound of their windows, so that
+ * later moves are still pruned, and stop as soon as one of them refutes the
+ * board. Boards close to the leaves are not split, as their search takes
+ * less time than handing out tasks. As every move whose value could be the
+ * best one is searched for its exact value, the chosen move does not depend
+ * on the number of threads.
+ *
+ * A search is cancelled by interrupting the thread which runs it. Every
+ * thread checks for cancellation together with the clock, i.e., after at
+ * most {@code CLOCK_INTERVAL} boards, and unwinds without changing any shared
+ * state other than the transposition table, whose entries stay valid.
+ */
+public class AlphaBetaSearch {
+
+    // The slack by which the search windows of children are widened. Values
+    // are sums of ratings and therefore subject to rounding, the slack makes
+    // sure that a child whose value lies outside of its window also lies
+    // outside of the window of its parent.
+    private static final double TOLERANCE = 1e-6;
+
+    // The greatest depth of iterative deepening. No game lasts longer, as
+    // every pawn can move at most SIZE - 2 times without ending the game.
+    private static final int MAX_DEPTH = 2 * Board.SIZE * (Board.SIZE - 2) + 1;
+
+    // The number of visited boards after which the clock is read again.
+    private static final int CLOCK_INTERVAL = 1024;
+
+    // The number of killer moves which are kept for each ply.
+    private static final int KILLERS = 2;
+
+    // The score of the stored best move, which is searched first.
+    private static final double HASH_MOVE_SCORE = Double.POSITIVE_INFINITY;
+
+    // The score of captures and moves onto the last row. It lies above the
+    // scores of all quiet moves.
+    private static final double CAPTURE_SCORE = Double.MAX_VALUE;
+
+    // The score of the first killer move of a ply. The second one scores
+    // half of it, which still lies above all history scores.
+    private static final double KILLER_SCORE = Double.MAX_VALUE / 2;
+
+    // The half width of the aspiration window of an iteration around the
+    // value of the previous one.
+    private static final double ASPIRATION_WINDOW = 10;
+
+    // The least height of a board whose younger siblings are searched in
+    // parallel. Lower boards are searched faster than tasks are handed out.
+    private static final int MIN_SPLIT_HEIGHT = 5;
+
+    // The greatest number of moves of the quiescence search below a leaf.
+    // Every move but the last one captures one of the 2 * SIZE pawns.
+    private static final int QUIESCENCE_PLIES = 2 * Board.SIZE;
+
+    // The board on which the moves are executed and taken back. A worker of a
+    // parallel search gets a new copy for every move it searches.
+    private BitBoard board;
+
+    // The buffers for the moves generated on each ply, indexed by the
+    // distance to the root.
+    private int[][] moves = new int[0][];
+
+    // The buffers for the scores of the moves on each ply.
+    private double[][] scores = new double[0][];
+
+    // The killer moves of each ply, the most recent first. Move.NONE marks an
+    // empty slot.
+    private final int[][] killers = new int[MAX_DEPTH][KILLERS];
+
+    // The history scores of quiet moves, indexed by the ordinal of the moving
+    // player and the indices of the slots of origin and destination. Every
+    // cutoff adds the squared height of the board to the score of its move.
+    private final long[][][] history
+            = new long[Player.values().length][Board.SIZE * Board.SIZE]
+            [Board.SIZE * Board.SIZE];
+
+    // Whether the moves of a board are ordered before searching them.
+    private boolean moveOrdering = true;
+
+    // The statistics of the last search.
+    private final SearchStatistics statistics = new SearchStatistics();
+
+    // The table of the results of searched boards or null if results are not
+    // stored.
+    private final TranspositionTable table;
+
+    // The pool which searches younger siblings in parallel or null if all
+    // moves are searched by the calling thread.
+    private final ForkJoinPool pool;
+
+    // The workers of a parallel search which are not searching a move. They
+    // are shared by all workers of the search and kept for the next move, so
+    // that their buffers are only allocated once.
+    private ConcurrentLinkedDeque<AlphaBetaSearch> idleWorkers
+            = new ConcurrentLinkedDeque<>();
+
+    // The entry into which results are read from the table.
+    private final TranspositionTable.Entry entry
+            = new TranspositionTable.Entry();
+
+    // The value of the best move found by the last search of the root.
+    private double rootValue;
+
+    // Whether the current search has to stop at the deadline.
+    private boolean timed;
+
+    // The value of System.nanoTime() at which a timed search has to stop.
+    private long deadline;
+
+    // The number of boards which the current search, its workers and helpers
+    // may still visit or null if it is not limited. It is shared by all of
+    // them, so that they stop exactly when the boards they visited together
+    // reach the limit.
+    private AtomicLong nodeBudget;
+
+    // Whether the current search is completed even if the limit of visited
+    // boards is reached, as the search of depth one is. Its boards are still
+    // charged to the limit.
+    private boolean unlimited;
+
+    // Whether the current search has run out of time or been aborted. Its
+    // values are invalid.
+    private boolean stopped;
+
+    // Whether the search has been aborted by another thread, e.g., because
+    // its result is no longer needed. The workers of a parallel search share
+    // the flag of the board whose moves they search.
+    private AtomicBoolean aborted = new AtomicBoolean();
+
+    // The search whose board the moves of this search belong to if this is a
+    // worker of a parallel search, otherwise null. The worker is aborted
+    // together with it.
+    private AlphaBetaSearch parent;
+
+    // The best moves found by the last completed analysis, the best first.
+    private List<AnalyzedMove> analysis = List.of();
+
+    // The number of moves of the root which are searched after the others
+    // instead of first, so that helpers of a search start with other moves.
+    private int rootRotation;
+
+    /**
+     * Creates a search for the best move of the next player of a board which
+     * does not store the results of searched boards.
+     *
+     * @param board The board whose next move is searched. It is copied, so
+     *              the board itself is not changed by searching.
+     */
+    public AlphaBetaSearch(BitBoard board) {
+        this(board, null);
+    }
+
+    /**
+     * Creates a search for the best move of the next player of a board which
+     * stores the results of searched boards in a transposition table. Results
+     * are only reused for boards of the same height, as the rating of a board
+     * depends on its height, so the chosen move is not affected by the table.
+     *
+     * @param board The board whose next move is searched. It is copied, so
+     *              the board itself is not changed by searching.
+     * @param table The table in which results are stored. It may be shared
+     *              with other searches, also concurrent ones. If it is
+     *              {@code null}, no results are stored.
+     */
+    public AlphaBetaSearch(BitBoard board, TranspositionTable table) {
+        this(board, table, null);
+    }
+
+    /**
+     * Creates a search for the best move of the next player of a board which
+     * searches younger siblings in parallel. The chosen move is the same as
+     * without a pool.
+     *
+     * @param board The board whose next move is searched. It is copied, so
+     *              the board itself is not changed by searching.
+     * @param table The table in which results are stored. It may be shared
+     *              with other searches, also concurrent ones. If it is
+     *              {@code null}, no results are stored.
+     * @param pool  The pool whose threads search younger siblings. If it is
+     *              {@code null}, the calling thread searches all moves.
+     */
+    public AlphaBetaSearch(BitBoard board, TranspositionTable table,
+                           ForkJoinPool pool) {
+        if (board == null) {
+            throw new IllegalArgumentException("The board to search must not "
+                    + "be null.");
+        }
+        this.board = (BitBoard) board.clone();
+        this.table = table;
+        this.pool = pool;
+    }
+
+    /**
+     * Searches the best move of the machine player. If several moves have the
+     * best value, the one generated first by {@link
+     * BitBoard#generateMoves(int[])} is chosen.
+     *
+     * @param depth The number of moves which are looked ahead, including the
+     *              move of the machine.
+     * @return The best move, encoded as described by {@code Move}.
+     * @throws IllegalArgumentException If the depth is not positive.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search is completed. The
+     *                                  thread stays interrupted.
+     */
+    public int findBestMove(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("The search depth must be "
+                    + "positive.");
+        }
+        checkMachineCanMove();
+
+        startSearch();
+        nodeBudget = null;
+        if (table != null) {
+            table.newSearch();
+        }
+        int bestMove = searchRoot(depth, Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY);
+        if (stopped) {
+            throw new CancellationException("The search has been "
+                    + "interrupted.");
+        }
+        statistics.complete(depth);
+        statistics.setPeakMemory(measureMemory());
+        return bestMove;
+    }
+
+    /**
+     * Searches the best move of the machine player within a time budget by
+     * iterative deepening: the search is repeated with a depth increased by
+     * one until the budget runs out. The move of the deepest search which has
+     * been completed is returned, the interrupted search is discarded. The
+     * search of depth one is always completed, even if it takes longer than
+     * the budget. Every further search starts with an aspiration window
+     * around the value of the previous one, which is only opened if the value
+     * falls outside of it.
+     *
+     * If the calling thread is interrupted, the search stops as if the budget
+     * had run out and the move of the deepest completed search is returned.
+     *
+     * @param budget The time available for searching.
+     * @return The best move, encoded as described by {@code Move}.
+     * @throws IllegalArgumentException If the budget is not positive.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search of depth one is
+     *                                  completed. The thread stays
+     *                                  interrupted.
+     */
+    public int findBestMove(Duration budget) {
+        return findBestMove(SearchLimits.ofMovetime(budget), null);
+    }
+
+    /**
+     * Searches the best move of the machine player by iterative deepening
+     * within limits, as {@link #findBestMove(Duration)} does within a time
+     * budget. The search stops at the greatest depth, when the number of
+     * visited boards reaches its limit or when the time runs out, whichever
+     * comes first. The boards of depth one count towards the limit, but it
+     * is always completed. With only a depth limit, the move is the same as
+     * the one of {@link #findBestMove(int)}. With only a limit of the
+     * boards, the move does not depend on the speed of the machine.
+     *
+     * @param limits   The limits of the search.
+     * @param listener The listener which is informed about every completed
+     *                 depth or {@code null}.
+     * @return The best move, encoded as described by {@code Move}.
+     * @throws IllegalArgumentException If the limits are {@code null}.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search of depth one is
+     *                                  completed. The thread stays
+     *                                  interrupted.
+     */
+    public int findBestMove(SearchLimits limits, SearchListener listener) {
+        if (limits == null) {
+            throw new IllegalArgumentException("The search limits must not "
+                    + "be null.");
+        }
+        return findBestMove(limits, listener, limits.getNodes() == 0 ? null
+                : new AtomicLong(limits.getNodes()));
+    }
+
+    /**
+     * Searches the best move of the machine player by iterative deepening
+     * within limits, sharing the limit of the visited boards with the
+     * helpers of a parallel search.
+     *
+     * @param limits     The limits of the search.
+     * @param listener   The listener which is informed about every completed
+     *                   depth or {@code null}.
+     * @param nodeBudget The number of boards which the search and its helpers
+     *                   may still visit or {@code null} if it is not limited.
+     * @return The best move, encoded as described by {@code Move}.
+     * @throws IllegalArgumentException If the limits are {@code null}.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search of depth one is
+     *                                  completed. The thread stays
+     *                                  interrupted.
+     */
+    int findBestMove(SearchLimits limits, SearchListener listener,
+                     AtomicLong nodeBudget) {
+        if (limits == null) {
+            throw new IllegalArgumentException("The search limits must not "
+                    + "be null.");
+        }
+        checkMachineCanMove();
+        return deepen(limits, listener, nodeBudget, depth -> depth == 1
+                ? searchRoot(1, Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY) : searchAspirated(depth, rootValue));
+    }
+
+    /**
+     * Analyzes the moves of the next player, who may also be the human: the
+     * best moves are searched by iterative deepening within limits, as {@link
+     * #findBestMove(SearchLimits, SearchListener)} does, and returned with
+     * their values and principal variations. The moves are searched together
+     * in a single search, in which the best moves so far take the place of
+     * the best one, so that the search costs little more than the one for
+     * the best move alone.
+     *
+     * The values are exact and, like the values of the search for the best
+     * move, from the perspective of the next player. Moves with the same
+     * value are ordered as generated. Without a transposition table, the
+     * principal variations only consist of the moves themselves.
+     *
+     * @param limits The limits of the search.
+     * @param k      The greatest number of moves which are returned.
+     * @return The best moves, the best first, as found by the deepest
+     * completed search. There are fewer than {@code k} if the next player has
+     * fewer moves.
+     * @throws IllegalArgumentException If the limits are {@code null} or the
+     *                                  number of moves is not positive.
+     * @throws IllegalCallerException   If the next player has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search of depth one is
+     *                                  completed. The thread stays
+     *                                  interrupted.
+     */
+    public List<AnalyzedMove> analyze(SearchLimits limits, int k) {
+        if (limits == null) {
+            throw new IllegalArgumentException("The search limits must not "
+                    + "be null.");
+        } else if (k < 1) {
+            throw new IllegalArgumentException("The number of moves must be "
+                    + "positive.");
+        } else if (board.generateMoves(new int[Move.MAX_MOVES]) == 0) {
+            throw new IllegalCallerException("The next player has no legal "
+                    + "move.");
+        }
+        analysis = List.of();
+        deepen(limits, null, limits.getNodes() == 0 ? null
+                : new AtomicLong(limits.getNodes()),
+                depth -> searchLines(depth, k));
+        return analysis;
+    }
+
+    /**
+     * Repeats a search of the root with a depth increased by one until the
+     * greatest depth is reached or the search is stopped by a limit. The
+     * search of depth one is always completed.
+     *
+     * @param limits     The limits of the search.
+     * @param listener   The listener which is informed about every completed
+     *                   depth or {@code null}.
+     * @param nodeBudget The number of boards which the search and its helpers
+     *                   may still visit or {@code null} if it is not limited.
+     * @param search     Searches the root to the given depth and returns the
+     *                   best move or {@code Move.NONE} if it has been stopped.
+     * @return The best move of the deepest completed search.
+     * @throws CancellationException If the calling thread is interrupted
+     *                               before the search of depth one is
+     *                               completed.
+     */
+    private int deepen(SearchLimits limits, SearchListener listener,
+                       AtomicLong nodeBudget, IntUnaryOperator search) {
+        long start = System.nanoTime();
+        startSearch();
+        this.nodeBudget = nodeBudget;
+        if (table != null) {
+            table.newSearch();
+        }
+        unlimited = true;
+        int bestMove;
+        try {
+            bestMove = search.applyAsInt(1);
+        } finally {
+            unlimited = false;
+        }
+        if (stopped) {
+            throw new CancellationException("The search has been "
+                    + "interrupted.");
+        }
+        completeDepth(1, bestMove, listener);
+
+        if (limits.getMovetime() != null) {
+            deadline = start + limits.getMovetime().toNanos();
+            timed = true;
+        }
+        int maxDepth = limits.getDepth() == 0 ? MAX_DEPTH
+                : Math.min(limits.getDepth(), MAX_DEPTH);
+        for (int depth = 2; depth <= maxDepth; depth++) {
+            int move = search.applyAsInt(depth);
+            if (stopped) {
+                break;
+            }
+            bestMove = move;
+            completeDepth(depth, bestMove, listener);
+        }
+        return bestMove;
+    }
+
+    /**
+     * Records that the search of a depth has been completed and informs the
+     * listener.
+     *
+     * @param depth    The completed depth.
+     * @param bestMove The best move of the depth.
+     * @param listener The listener to inform or {@code null}.
+     */
+    private void completeDepth(int depth, int bestMove,
+                               SearchListener listener) {
+        statistics.complete(depth);
+        statistics.setPeakMemory(measureMemory());
+        if (listener != null) {
+            listener.progress(depth, rootValue, statistics.getNodes(),
+                    bestMove);
+        }
+    }
+
+    /**
+     * Makes sure that the machine can move on the board.
+     *
+     * @throws IllegalCallerException If it is not the machine's turn or the
+     *                                machine has no legal move.
+     */
+    private void checkMachineCanMove() {
+        if (board.getNextPlayer() != Player.MACHINE) {
+            throw new IllegalCallerException("It is not the machine player's "
+                    + "turn.");
+        } else if (board.generateMoves(new int[Move.MAX_MOVES]) == 0) {
+            throw new IllegalCallerException("The machine player has no legal "
+                    + "move.");
+        }
+    }
+
+    /**
+     * Enables or disables the ordering of moves, e.g., to measure its effect
+     * on the number of visited boards. Without ordering, moves are searched
+     * in the order of generation. The chosen move is the same either way.
+     *
+     * @param moveOrdering Whether moves are ordered before searching them.
+     */
+    public void setMoveOrdering(boolean moveOrdering) {
+        this.moveOrdering = moveOrdering;
+    }
+
+    /**
+     * Resets the state of a previous search, i.e., the statistics, the clock
+     * and the killer moves and history scores.
+     */
+    private void startSearch() {
+        statistics.reset();
+        timed = false;
+        stopped = false;
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, Move.NONE);
+        }
+        for (long[][] playerHistory : history) {
+            for (long[] fromHistory : playerHistory) {
+                Arrays.fill(fromHistory, 0);
+            }
+        }
+    }
+
+    /**
+     * Searches the root again and again with a depth increased by one, until
+     * the search is aborted. This is done by the helpers of a search, which
+     * only contribute the results they store in the shared table.
+     *
+     * @param firstDepth The depth of the first search.
+     */
+    void searchUntilAborted(int firstDepth) {
+        startSearch();
+        for (int depth = firstDepth; depth <= MAX_DEPTH && !stopped;
+             depth++) {
+            searchRoot(depth, Double.NEGATIVE_INFINITY,
+                    Double.POSITIVE_INFINITY);
+        }
+        statistics.setPeakMemory(measureMemory());
+    }
+
+    /**
+     * Sets the number of boards which the helper of a parallel search may
+     * still visit, shared with the main search and the other helpers.
+     *
+     * @param nodeBudget The shared number of boards or {@code null} if it is
+     *                   not limited.
+     */
+    void setNodeBudget(AtomicLong nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Aborts the search from another thread. It stops after at most {@code
+     * CLOCK_INTERVAL} further boards, and so does every later search by this
+     * instance. Interrupting the thread which runs the search has the same
+     * effect.
+     */
+    void abort() {
+        aborted.set(true);
+    }
+
+    /**
+     * Determines whether this search or a search whose moves it searches as
+     * worker has been aborted. A search which runs on its own thread is
+     * aborted once its thread has been interrupted, so that its workers stop
+     * as well.
+     *
+     * @return Return {@code true} if the search has been aborted. Otherwise
+     * return {@code false}.
+     */
+    private boolean isAborted() {
+        if (parent == null && Thread.currentThread().isInterrupted()) {
+            aborted.set(true);
+        }
+        return aborted.get() || parent != null && parent.isAborted();
+    }
+
+    /**
+     * Sets the number of moves of the root which are searched after the
+     * others instead of first. The chosen move may differ if several moves
+     * have the best value.
+     *
+     * @param rootRotation The number of moves which are searched last.
+     */
+    void setRootRotation(int rootRotation) {
+        this.rootRotation = rootRotation;
+    }
+
+    /**
+     * Searches the moves of the root within an aspiration window around the
+     * value of the previous iteration. If the value of the best move lies
+     * outside of the window, the search is repeated with the window opened
+     * on that side.
+     *
+     * @param depth    The number of moves which are looked ahead.
+     * @param previous The value of the best move of the previous iteration.
+     * @return The best move or {@code Move.NONE} if the search has been
+     * stopped.
+     */
+    private int searchAspirated(int depth, double previous) {
+        double alpha = previous - ASPIRATION_WINDOW;
+        double beta = previous + ASPIRATION_WINDOW;
+        while (true) {
+            int bestMove = searchRoot(depth, alpha, beta);
+            if (stopped) {
+                return Move.NONE;
+            } else if (rootValue <= alpha) {
+                alpha = Double.NEGATIVE_INFINITY;
+            } else if (rootValue >= beta) {
+                beta = Double.POSITIVE_INFINITY;
+            } else {
+                return bestMove;
+            }
+        }
+    }
+
+    /**
+     * Searches the moves of the root to a fixed depth. The first move is
+     * searched with the full window, every further one only for whether it
+     * is better than the best move so far, and again with the full window if
+     * it is. If the value of the best move lies within the window, it is
+     * exact and stored as value of the root. Otherwise it is only a bound and
+     * the returned move is not reliable. With a pool, the moves after the
+     * first one are searched in parallel.
+     *
+     * The rating of the root is the same for every move and therefore
+     * ignored. A move only replaces the best move if it is strictly better,
+     * so that the first of several equal moves is kept.
+     *
+     * @param depth The number of moves which are looked ahead.
+     * @param alpha The value below which the best move is not searched.
+     * @param beta  The value above which the best move is not searched.
+     * @return The best move or {@code Move.NONE} if the search has been
+     * stopped.
+     */
+    private int searchRoot(int depth, double alpha, double beta) {
+        allocateBuffers(depth);
+        if (visit(0)) {
+            return Move.NONE;
+        }
+        int[] rootMoves = moves[0];
+        int count = board.generateMoves(rootMoves);
+        if (rootRotation % Math.max(count, 1) != 0) {
+            rotate(rootMoves, count, rootRotation % count);
+        }
+        int serialCount = splits(depth) ? Math.min(count, 1) : count;
+
+        int bestMove = Move.NONE;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < serialCount; i++) {
+            int move = rootMoves[i];
+            int undoInfo = board.makeMove(move);
+            double bound = Math.max(alpha, bestValue);
+            double value;
+            if (i == 0) {
+                value = -search(depth - 1, 1, -beta - TOLERANCE,
+                        -bound + TOLERANCE);
+            } else {
+                value = -search(depth - 1, 1, -bound - TOLERANCE,
+                        -bound + TOLERANCE);
+                if (value > bound && value < beta && !stopped) {
+                    value = -search(depth - 1, 1, -beta - TOLERANCE,
+                            -bound + TOLERANCE);
+                }
+            }
+            board.unmakeMove(move, undoInfo);
+
+            if (stopped) {
+                return Move.NONE;
+            } else if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+                if (bestValue >= beta) {
+                    break;
+                }
+            }
+        }
+
+        if (serialCount < count && bestValue < beta) {
+            SiblingTask[] tasks = searchSiblings(rootMoves, serialCount,
+                    count, depth, 0, 0, Math.max(alpha, bestValue), beta);
+            for (SiblingTask task : tasks) {
+                if (task.stopped) {
+                    stopped |= !task.cutoff.get();
+                } else if (task.value > bestValue) {
+                    bestValue = task.value;
+                    bestMove = task.move;
+                }
+            }
+            if (stopped) {
+                return Move.NONE;
+            }
+        }
+        rootValue = bestValue;
+        return bestMove;
+    }
+
+    /**
+     * Determines whether the younger siblings of the first move of a board
+     * are searched in parallel.
+     *
+     * @param height The number of moves which can still be made below the
+     *               board.
+     * @return Return {@code true} if the moves after the first one are
+     * searched by the pool. Otherwise return {@code false}.
+     */
+    private boolean splits(int height) {
+        return pool != null && height >= MIN_SPLIT_HEIGHT;
+    }
+
+    /**
+     * Searches moves of a board in parallel after its first move has been
+     * searched, e.g., moves which the first move has not refuted. Each move
+     * is searched by a task which idle threads of the pool can steal. The
+     * tasks share the value of the best move found so far as bound of their
+     * windows and stop as soon as one of them exceeds {@code beta}. The
+     * statistics of the tasks are added to the ones of this search.
+     *
+     * @param moves  The moves of the board.
+     * @param from   The index of the first move which is searched.
+     * @param count  The number of moves.
+     * @param height The number of moves which can still be made below the
+     *               board.
+     * @param ply    The number of moves made since the root.
+     * @param rating The rating of the board from the perspective of its next
+     *               player, which is added to the values of the moves.
+     * @param alpha  The value the next player is already assured of.
+     * @param beta   The value the opponent is already assured of.
+     * @return The tasks, in the order of the moves.
+     */
+    private SiblingTask[] searchSiblings(int[] moves, int from, int count,
+                                         int height, int ply, double rating,
+                                         double alpha, double beta) {
+        AtomicLong bound = new AtomicLong(Double.doubleToLongBits(alpha));
+        AtomicBoolean cutoff = new AtomicBoolean();
+        SiblingTask[] tasks = new SiblingTask[count - from];
+        for (int i = from; i < count; i++) {
+            tasks[i - from] = new SiblingTask(moves[i], height, ply, rating,
+                    beta, bound, cutoff);
+        }
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            ForkJoinTask<?> split = pool.submit(
+                    () -> ForkJoinTask.invokeAll(tasks));
+            try {
+                split.get();
+            } catch (InterruptedException e) {
+
+                // Let the tasks stop and wait for them, the interrupt is
+                // kept for the caller.
+                aborted.set(true);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+
+                // Rethrown unwrapped by join.
+            }
+            split.join();
+        }
+
+        for (SiblingTask task : tasks) {
+            if (task.statistics != null) {
+                statistics.add(task.statistics);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Searches the moves of the root to a fixed depth for the best ones. The
+     * best moves of the previous depth are searched first. Every further
+     * move is searched only for whether it is better than the worst of the
+     * best moves so far, and again with an open window if it is, so that its
+     * value is exact. The best moves are stored as analysis and the value of
+     * the best one as value of the root.
+     *
+     * @param depth The number of moves which are looked ahead.
+     * @param k     The greatest number of best moves.
+     * @return The best move or {@code Move.NONE} if the search has been
+     * stopped.
+     */
+    private int searchLines(int depth, int k) {
+        allocateBuffers(depth);
+        if (visit(0)) {
+            return Move.NONE;
+        }
+        int[] rootMoves = moves[0];
+        int count = board.generateMoves(rootMoves);
+        int[] order = orderLines(rootMoves, count);
+
+        // The indices of the best moves so far and their values, the best
+        // first.
+        int[] lineIndices = new int[Math.min(k, count)];
+        double[] lineValues = new double[lineIndices.length];
+        int lines = 0;
+        for (int index : order) {
+            int move = rootMoves[index];
+            int undoInfo = board.makeMove(move);
+            double value;
+            if (lines < lineIndices.length) {
+                value = -search(depth - 1, 1, Double.NEGATIVE_INFINITY,
+                        Double.POSITIVE_INFINITY);
+            } else {
+                double bound = lineValues[lines - 1];
+                value = -search(depth - 1, 1, -bound - TOLERANCE,
+                        -bound + TOLERANCE);
+                if (precedes(value, index, bound, lineIndices[lines - 1])
+                        && !stopped) {
+                    value = -search(depth - 1, 1, Double.NEGATIVE_INFINITY,
+                            -bound + TOLERANCE);
+                }
+            }
+            board.unmakeMove(move, undoInfo);
+
+            if (stopped) {
+                return Move.NONE;
+            } else if (lines < lineIndices.length || precedes(value, index,
+                    lineValues[lines - 1], lineIndices[lines - 1])) {
+
+                // Insert the move behind the moves which precede it,
+                // dropping the worst one if there are enough.
+                int line = Math.min(lines, lineIndices.length - 1);
+                while (line > 0 && precedes(value, index,
+                        lineValues[line - 1], lineIndices[line - 1])) {
+                    lineIndices[line] = lineIndices[line - 1];
+                    lineValues[line] = lineValues[line - 1];
+                    line--;
+                }
+                lineIndices[line] = index;
+                lineValues[line] = value;
+                lines = Math.min(lines + 1, lineIndices.length);
+            }
+        }
+
+        List<AnalyzedMove> lineList = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            int move = rootMoves[lineIndices[i]];
+            lineList.add(new AnalyzedMove(move, lineValues[i],
+                    extractVariation(move, depth)));
+        }
+        analysis = Collections.unmodifiableList(lineList);
+        rootValue = lineValues[0];
+        return lineList.get(0).getMove();
+    }
+
+    /**
+     * Determines the order in which the moves of the root are analyzed: the
+     * best moves of the previous depth first, as their values are most
+     * likely to exclude the other moves, then the others as generated.
+     *
+     * @param rootMoves The moves of the root.
+     * @param count     The number of moves.
+     * @return The indices of the moves in the order of the search.
+     */
+    private int[] orderLines(int[] rootMoves, int count) {
+        int[] order = new int[count];
+        boolean[] ordered = new boolean[count];
+        int next = 0;
+        for (AnalyzedMove line : analysis) {
+            for (int i = 0; i < count; i++) {
+                if (rootMoves[i] == line.getMove() && !ordered[i]) {
+                    order[next++] = i;
+                    ordered[i] = true;
+                    break;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (!ordered[i]) {
+                order[next++] = i;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Checks whether a move of the root is better than another one, or as
+     * good and generated earlier, as the search for the best move chooses
+     * the first of several equal moves.
+     *
+     * @param value      The value of the move.
+     * @param index      The index of the move in the order of generation.
+     * @param otherValue The value of the other move.
+     * @param otherIndex The index of the other move.
+     * @return Return {@code true} if the move precedes the other one.
+     * Otherwise return {@code false}.
+     */
+    private static boolean precedes(double value, int index,
+                                    double otherValue, int otherIndex) {
+        return value > otherValue
+                || value == otherValue && index < otherIndex;
+    }
+
+    /**
+     * Extracts the principal variation of a move of the root from the
+     * transposition table: the move, followed by the best moves stored for
+     * the boards it leads to. Only exact entries of the expected height are
+     * followed, as entries of other searches may hold other moves.
+     *
+     * @param move  The move of the root.
+     * @param depth The depth of the search of the root.
+     * @return The moves of the variation, at most {@code depth} of them.
+     */
+    private int[] extractVariation(int move, int depth) {
+        int[] variation = new int[depth];
+        variation[0] = move;
+        int length = 1;
+        BitBoard current = (BitBoard) board.clone();
+        current.makeMove(move);
+        int[] legalMoves = new int[Move.MAX_MOVES];
+        while (table != null && length < depth
+                && table.probe(current.getPositionKey(), entry)
+                && entry.height == depth - length
+                && entry.bound == TranspositionTable.EXACT
+                && contains(legalMoves,
+                current.generateMoves(legalMoves), entry.move)) {
+            variation[length++] = entry.move;
+            current.makeMove(entry.move);
+        }
+        return Arrays.copyOf(variation, length);
+    }
+
+    /**
+     * Checks whether a list of moves contains a move.
+     *
+     * @param moves The list of moves.
+     * @param count The number of moves in the list.
+     * @param move  The move to look for.
+     * @return Return {@code true} if the move is contained. Otherwise return
+     * {@code false}.
+     */
+    private static boolean contains(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes an idle worker, or creates one if there is none, and prepares it
+     * for searching a move of the board of this search.
+     *
+     * @return The worker, whose board is a copy of the board of this search.
+     */
+    private AlphaBetaSearch takeWorker() {
+        AlphaBetaSearch worker = idleWorkers.poll();
+        if (worker == null) {
+            worker = new AlphaBetaSearch(board, table, pool);
+            worker.idleWorkers = idleWorkers;
+        } else {
+            worker.board = (BitBoard) board.clone();
+            worker.stopped = false;
+            worker.statistics.reset();
+        }
+        worker.moveOrdering = moveOrdering;
+        worker.timed = timed;
+        worker.deadline = deadline;
+        worker.nodeBudget = nodeBudget;
+        worker.unlimited = unlimited;
+        worker.parent = this;
+        return worker;
+    }
+
+    /**
+     * Rotates the first moves of a list to its end.
+     *
+     * @param moves    The moves which are rotated.
+     * @param count    The number of moves.
+     * @param distance The number of moves which are moved to the end.
+     */
+    private static void rotate(int[] moves, int count, int distance) {
+        int[] rotated = new int[count];
+        for (int i = 0; i < count; i++) {
+            rotated[i] = moves[(i + distance) % count];
+        }
+        System.arraycopy(rotated, 0, moves, 0, count);
+    }
+
+    /**
+     * Measures the memory retained by this search, i.e., the arrays owned by
+     * it and by its idle workers, which hold all workers once a search is
+     * done. As the arrays only grow, this is the peak of the memory.
+     *
+     * @return The retained memory in bytes.
+     */
+    private long measureMemory() {
+        long bytes = measureArrays();
+        for (AlphaBetaSearch worker : idleWorkers) {
+            bytes += worker.measureArrays();
+        }
+        return bytes;
+    }
+
+    /**
+     * Measures the arrays owned by this search alone: the buffers of the
+     * plies, the killer moves and the history scores.
+     *
+     * @return The size of the arrays in bytes.
+     */
+    private long measureArrays() {
+        return SearchStatistics.sizeOf(moves) + SearchStatistics.sizeOf(scores)
+                + SearchStatistics.sizeOf(killers)
+                + SearchStatistics.sizeOf(history);
+    }
+
+    /**
+     * Makes sure that the buffers for the moves and their scores suffice for
+     * a search to the given depth and the quiescence search below it.
+     *
+     * @param depth The number of moves which are looked ahead.
+     */
+    private void allocateBuffers(int depth) {
+        if (moves.length < depth + QUIESCENCE_PLIES) {
+            moves = new int[depth + QUIESCENCE_PLIES][Move.MAX_MOVES];
+            scores = new double[depth + QUIESCENCE_PLIES][Move.MAX_MOVES];
+        }
+    }
+
+    /**
+     * Gets the statistics of the last search, e.g., the number of visited
+     * boards and the peak of the retained memory.
+     *
+     * @return The statistics of the last search. They are updated by every
+     * further search.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Recursively determines the value of the board from the perspective of
+     * its next player. A returned value within the window is exact. A value
+     * not greater than {@code alpha} is an upper bound and a value not less
+     * than {@code beta} is a lower bound of the exact value.
+     *
+     * @param height The number of moves which can still be made below the
+     *               board.
+     * @param ply    The number of moves made since the root.
+     * @param alpha  The value the next player is already assured of.
+     * @param beta   The value the opponent is already assured of.
+     * @return The value of the board.
+     */
+    private double search(int height, int ply, double alpha, double beta) {
+        if (height == 0) {
+            return quiesce(ply, alpha, beta);
+        } else if (visit(ply)) {
+            return 0;
+        }
+
+        // Reuse the result of the same board at the same height if it is exact
+        // or a bound which suffices for the window. Otherwise its best move is
+        // still a good first guess.
+        long key = 0;
+        int hashMove = Move.NONE;
+        if (table != null) {
+            key = board.getPositionKey();
+            if (table.probe(key, entry)) {
+                if (entry.height == height
+                        && (entry.bound == TranspositionTable.EXACT
+                        || entry.bound == TranspositionTable.LOWER_BOUND
+                        && entry.value >= beta
+                        || entry.bound == TranspositionTable.UPPER_BOUND
+                        && entry.value <= alpha)) {
+                    return entry.value;
+                }
+                hashMove = entry.move;
+            }
+        }
+
+        double rating = board.createBoardRating(height);
+        if (board.getNextPlayer() == Player.HUMAN) {
+            rating = -rating;
+        }
+
+        int[] plyMoves = moves[ply];
+        int count = board.generateMoves(plyMoves);
+        if (count == 0) {
+            return rating;
+        }
+        if (moveOrdering) {
+            orderMoves(plyMoves, count, height, ply, hashMove);
+        }
+
+        // The children are searched for the value which is added to the
+        // rating, so their window is shifted by it.
+        double originalAlpha = alpha;
+        double childAlpha = -(beta - rating) - TOLERANCE;
+        double best = Double.NEGATIVE_INFINITY;
+        int bestMove = Move.NONE;
+        int serialCount = splits(height) ? 1 : count;
+        for (int i = 0; i < serialCount; i++) {
+            int move = plyMoves[i];
+            int undoInfo = board.makeMove(move);
+            double childBeta = -(alpha - rating) + TOLERANCE;
+            double value;
+            if (i == 0) {
+                value = rating - search(height - 1, ply + 1, childAlpha,
+                        childBeta);
+            } else {
+
+                // Only prove that the move is not better than the best one
+                // so far. If it is, search it again for its exact value.
+                value = rating - search(height - 1, ply + 1,
+                        childBeta - 2 * TOLERANCE, childBeta);
+                if (value > alpha && value < beta && !stopped) {
+                    value = rating - search(height - 1, ply + 1, childAlpha,
+                            childBeta);
+                }
+            }
+            board.unmakeMove(move, undoInfo);
+
+            if (stopped) {
+                return 0;
+            } else if (value > best) {
+                best = value;
+                bestMove = move;
+                if (best > alpha) {
+                    alpha = best;
+                    if (alpha >= beta) {
+
+                        // The opponent will avoid this board.
+                        statistics.cutoff(i == 0);
+                        if (isQuiet(move)) {
+                            rememberCutoff(move, height, ply);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Young brothers wait for the first move, unless it already refutes
+        // the board.
+        if (serialCount < count && best < beta) {
+            SiblingTask[] tasks = searchSiblings(plyMoves, serialCount, count,
+                    height, ply, rating, alpha, beta);
+            for (SiblingTask task : tasks) {
+                if (task.stopped) {
+                    stopped |= !task.cutoff.get();
+                } else if (task.value > best) {
+                    best = task.value;
+                    bestMove = task.move;
+                }
+            }
+            if (stopped) {
+                return 0;
+            } else if (best >= beta) {
+                statistics.cutoff(false);
+                if (isQuiet(bestMove)) {
+                    rememberCutoff(bestMove, height, ply);
+                }
+            }
+        }
+
+        if (table != null) {
+            int bound;
+            if (best <= originalAlpha) {
+                bound = TranspositionTable.UPPER_BOUND;
+            } else if (best >= beta) {
+                bound = TranspositionTable.LOWER_BOUND;
+            } else {
+                bound = TranspositionTable.EXACT;
+            }
+            table.store(key, height, bound, best, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Determines the value of a leaf from the perspective of its next player
+     * by only searching captures and moves onto the last row, until a quiet
+     * board is reached. The next player may also stand pat, i.e., accept the
+     * rating of the board instead of making such a move. The leaf and the
+     * boards below it are rated as the horizon with height zero, except that
+     * a board on which the game has been won is rated like a board of height
+     * one, as a rating of height zero ignores the winner.
+     *
+     * @param ply   The number of moves made since the root.
+     * @param alpha The value the next player is already assured of.
+     * @param beta  The value the opponent is already assured of.
+     * @return The value of the leaf.
+     */
+    private double quiesce(int ply, double alpha, double beta) {
+        if (visit(ply)) {
+            return 0;
+        }
+
+        boolean gameOver = board.isGameOver();
+        double best = board.createBoardRating(gameOver ? 1 : 0);
+        if (board.getNextPlayer() == Player.HUMAN) {
+            best = -best;
+        }
+        if (gameOver || best >= beta) {
+            return best;
+        }
+        alpha = Math.max(alpha, best);
+
+        int[] plyMoves = moves[ply];
+        int count = board.generateMoves(plyMoves);
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            if (isQuiet(move)) {
+                continue;
+            }
+            int undoInfo = board.makeMove(move);
+            double value = -quiesce(ply + 1, -beta, -alpha);
+            board.unmakeMove(move, undoInfo);
+
+            if (stopped) {
+                return 0;
+            } else if (value > best) {
+                best = value;
+                if (best > alpha) {
+                    alpha = best;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records that a board is visited and charges it to the limit of visited
+     * boards. If the limit has been reached, the search stops instead, unless
+     * it has to be completed. After every {@code
+     * CLOCK_INTERVAL} boards, checks whether the search has been aborted or
+     * has run out of time.
+     *
+     * @param ply The number of moves made since the root.
+     * @return Return {@code true} if the search has been stopped. Otherwise
+     * return {@code false}.
+     */
+    private boolean visit(int ply) {
+        if (nodeBudget != null && nodeBudget.getAndDecrement() <= 0
+                && !unlimited) {
+            stopped = true;
+            return true;
+        }
+        statistics.visit(ply);
+        if (statistics.getNodes() % CLOCK_INTERVAL == 0 && (isAborted()
+                || timed && System.nanoTime() - deadline >= 0)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Sorts moves by their score, the most promising first: the stored best
+     * move, then the others by the rating of the board they lead to from the
+     * perspective of the next player. If the boards the moves lead to are
+     * leaves, captures and moves onto the last row follow the stored move,
+     * then the killer moves of the ply and then the quiet moves by their
+     * history score.
+     *
+     * @param moves    The moves which are sorted.
+     * @param count    The number of moves.
+     * @param height   The height of the board on which the moves are made.
+     * @param ply      The number of moves made since the root.
+     * @param hashMove The best move stored for the board or {@code
+     *                 Move.NONE}.
+     */
+    private void orderMoves(int[] moves, int count, int height, int ply,
+                            int hashMove) {
+        double[] scores = this.scores[ply];
+        boolean machine = board.getNextPlayer() == Player.MACHINE;
+        long[][] playerHistory = history[board.getNextPlayer().ordinal()];
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            double score;
+            if (move == hashMove) {
+                score = HASH_MOVE_SCORE;
+            } else if (height > 1) {
+                int undoInfo = board.makeMove(move);
+                score = board.createBoardRating(height - 1);
+                board.unmakeMove(move, undoInfo);
+                if (!machine) {
+                    score = -score;
+                }
+            } else if (!isQuiet(move)) {
+                score = CAPTURE_SCORE;
+            } else if (move == killers[ply][0]) {
+                score = KILLER_SCORE;
+            } else if (move == killers[ply][1]) {
+                score = KILLER_SCORE / 2;
+            } else {
+                score = playerHistory[Move.getFrom(move)][Move.getTo(move)];
+            }
+
+            // Insert the move into the sorted part of the list. Moves of
+            // equal score keep the order of generation.
+            int j = i;
+            while (j > 0 && scores[j - 1] < score) {
+                scores[j] = scores[j - 1];
+                moves[j] = moves[j - 1];
+                j--;
+            }
+            scores[j] = score;
+            moves[j] = move;
+        }
+    }
+
+    /**
+     * Records a quiet move which caused a cutoff as killer move of its ply
+     * and raises its history score.
+     *
+     * @param move   The move which caused the cutoff.
+     * @param height The height of the board on which the move was made.
+     * @param ply    The number of moves made since the root.
+     */
+    private void rememberCutoff(int move, int height, int ply) {
+        int[] plyKillers = killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        history[board.getNextPlayer().ordinal()][Move.getFrom(move)]
+                [Move.getTo(move)] += (long) height * height;
+    }
+
+    /**
+     * Determines whether a move neither captures a pawn nor reaches the last
+     * row. As pawns only move forward, a move onto the first or the last row
+     * always reaches the last row of its player.
+     *
+     * @param move The encoded move.
+     * @return Return {@code true} if the move is quiet. Otherwise return
+     * {@code false}.
+     */
+    private static boolean isQuiet(int move) {
+        int rowTo = Move.getRowTo(move);
+        return !Move.isCapture(move) && rowTo != 1 && rowTo != Board.SIZE;
+    }
+
+    /**
+     * A task which searches a younger sibling, i.e., a move of a board other
+     * than its first one, on its own copy of the board. The value of the move
+     * is exact if it lies between the shared bound and {@code beta}.
+     * Otherwise it is only a bound, which suffices to know that the move is
+     * not the best one or that the board is refuted.
+     */
+    private final class SiblingTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 2917461508364417923L;
+
+        // The move which is searched.
+        private final int move;
+
+        // The number of moves which can still be made below the board.
+        private final int height;
+
+        // The number of moves made from the root to the board.
+        private final int ply;
+
+        // The rating of the board from the perspective of its next player.
+        private final double rating;
+
+        // The value the opponent is already assured of.
+        private final double beta;
+
+        // The bits of the value of the best move found so far by any task of
+        // the board.
+        private final AtomicLong bound;
+
+        // Whether a task of the board has refuted it, so that the others can
+        // stop.
+        private final AtomicBoolean cutoff;
+
+        // The value of the move from the perspective of the next player.
+        private double value;
+
+        // Whether the search of the move has been stopped. Its value is
+        // invalid.
+        private boolean stopped;
+
+        // The statistics of the search of the move or null if it has not
+        // been searched.
+        private SearchStatistics statistics;
+
+        /**
+         * Creates a task which searches a younger sibling.
+         *
+         * @param move   The move which is searched.
+         * @param height The number of moves which can still be made below
+         *               the board.
+         * @param ply    The number of moves made from the root to the board.
+         * @param rating The rating of the board from the perspective of its
+         *               next player.
+         * @param beta   The value the opponent is already assured of.
+         * @param bound  The bits of the value of the best move found so far,
+         *               shared by all tasks of the board.
+         * @param cutoff Whether a task of the board has refuted it, shared by
+         *               all tasks of the board.
+         */
+        private SiblingTask(int move, int height, int ply, double rating,
+                            double beta, AtomicLong bound,
+                            AtomicBoolean cutoff) {
+            this.move = move;
+            this.height = height;
+            this.ply = ply;
+            this.rating = rating;
+            this.beta = beta;
+            this.bound = bound;
+            this.cutoff = cutoff;
+        }
+
+        /**
+         * Searches the move with a null window at the shared bound, and with
+         * the full window if it is better. Raises the bound to its value and
+         * stops the other tasks of the board if the value refutes it.
+         */
+        @Override
+        protected void compute() {
+
+            // Tasks which start after their board has been refuted or the
+            // search has been aborted are skipped. Otherwise they would split
+            // further before their first check of the clock.
+            if (cutoff.get() || isAborted()) {
+                stopped = true;
+                return;
+            }
+            AlphaBetaSearch worker = takeWorker();
+            worker.aborted = cutoff;
+            worker.allocateBuffers(ply + height);
+            worker.board.makeMove(move);
+            double current = Double.longBitsToDouble(bound.get());
+            double childBeta = -(current - rating) + TOLERANCE;
+            value = rating - worker.search(height - 1, ply + 1,
+                    childBeta - 2 * TOLERANCE, childBeta);
+            if (value > current && value < beta && !worker.stopped) {
+                current = Double.longBitsToDouble(bound.get());
+                value = rating - worker.search(height - 1, ply + 1,
+                        -(beta - rating) - TOLERANCE,
+                        -(current - rating) + TOLERANCE);
+            }
+            stopped = worker.stopped;
+            statistics = new SearchStatistics();
+            statistics.add(worker.statistics);
+            idleWorkers.push(worker);
+            if (stopped) {
+                return;
+            }
+
+            long bits = bound.get();
+            while (value > Double.longBitsToDouble(bits)
+                    && !bound.compareAndSet(bits,
+                    Double.doubleToLongBits(value))) {
+                bits = bound.get();
+            }
+            if (value >= beta) {
+                cutoff.set(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package model.search;
+
+import model.chessboard.Move;
+
+import java.util.Arrays;
+
+/**
+ * One of the best moves found by an analysis of a board: the move, its value
+ * and its principal variation, i.e., the moves both players are expected to
+ * make after it. Moves are encoded as described by {@code Move}. Instances
+ * are immutable.
+ */
+public final class AnalyzedMove {
+
+    // The analyzed move.
+    private final int move;
+
+    // The value of the move from the perspective of the player who makes it.
+    private final double score;
+
+    // The moves of the principal variation, starting with the move itself.
+    private final int[] variation;
+
+    /**
+     * Creates an analyzed move.
+     *
+     * @param move      The analyzed move.
+     * @param score     The value of the move from the perspective of the
+     *                  player who makes it.
+     * @param variation The principal variation, starting with the move. It is
+     *                  not copied.
+     */
+    AnalyzedMove(int move, double score, int[] variation) {
+        assert (variation.length > 0 && variation[0] == move);
+
+        this.move = move;
+        this.score = score;
+        this.variation = variation;
+    }
+
+    /**
+     * Gets the analyzed move.
+     *
+     * @return The move, encoded as described by {@code Move}.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * Gets the value of the move.
+     *
+     * @return The value from the perspective of the player who makes the
+     * move.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the principal variation of the move. It may end before the depth
+     * of the search if the results of the boards it leads to are no longer
+     * known.
+     *
+     * @return A copy of the moves of the variation, starting with the move
+     * itself.
+     */
+    public int[] getVariation() {
+        return variation.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(Move.toString(move)).append(": ").append(score)
+                .append(" (");
+        for (int i = 0; i < variation.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(Move.toString(variation[i]));
+        }
+        return builder.append(")").toString();
+    }
+}
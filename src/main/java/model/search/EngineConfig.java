@@ -0,0 +1,192 @@
+package model.search;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The settings of the engine which searches the moves of the machine in one
+ * game: the transposition table, the pool and the number of threads of the
+ * searches, the search engine and whether the machine ponders, together
+ * with the {@code Ponderer} of the game. A board holds its configuration and
+ * hands it on to the boards which result from its moves, so the settings of
+ * one game never affect another one. Changes take effect with the next
+ * search. Instances are thread-safe.
+ */
+public class EngineConfig {
+
+    // The default size of the transposition table in megabytes.
+    private static final int DEFAULT_TABLE_SIZE = 16;
+
+    // The transposition table shared by the searches of the machine's moves
+    // or null if none has been searched yet.
+    private TranspositionTable transpositionTable;
+
+    // The size of the transposition table in megabytes.
+    private int tableSize = DEFAULT_TABLE_SIZE;
+
+    // The pool which searches the machine's moves in parallel or null if
+    // they are searched by the calling thread.
+    private volatile ForkJoinPool searchPool;
+
+    // The number of threads which search the machine's moves together.
+    private volatile int searchThreads = 1;
+
+    // The engine which searches the machine's moves.
+    private volatile SearchEngine searchEngine = SearchEngine.ALPHA_BETA;
+
+    // Searches the machine's next move while the human thinks.
+    private final Ponderer ponderer = new Ponderer();
+
+    // Whether the machine ponders after its moves.
+    private volatile boolean pondering;
+
+    /**
+     * Gets the transposition table shared by the searches of the machine's
+     * moves, e.g., to inspect its counters. It is created by the first call,
+     * so that a game whose machine never moves takes no memory for it.
+     *
+     * @return The shared transposition table.
+     */
+    public synchronized TranspositionTable getTranspositionTable() {
+        if (transpositionTable == null) {
+            transpositionTable = new TranspositionTable(tableSize);
+        }
+        return transpositionTable;
+    }
+
+    /**
+     * Replaces the transposition table shared by the searches of the
+     * machine's moves with an empty table of the given size.
+     *
+     * @param megabytes The size of the new table in megabytes. It is 16 by
+     *                  default.
+     * @throws IllegalArgumentException If the size is not positive or too
+     *                                  large.
+     */
+    public synchronized void setTranspositionTableSize(int megabytes) {
+        transpositionTable = new TranspositionTable(megabytes);
+        tableSize = megabytes;
+    }
+
+    /**
+     * Gets the pool which searches the machine's moves in parallel.
+     *
+     * @return The pool or {@code null} if the machine's moves are searched by
+     * the calling thread.
+     */
+    public ForkJoinPool getSearchPool() {
+        return searchPool;
+    }
+
+    /**
+     * Sets the pool which searches the machine's moves in parallel, e.g., to
+     * use idle cores while the human thinks. The machine chooses the same
+     * moves whatever the number of threads of the pool. Several games may
+     * share a pool.
+     *
+     * @param pool The pool or {@code null} to search with the calling thread
+     *             only, which is the default.
+     */
+    public void setSearchPool(ForkJoinPool pool) {
+        searchPool = pool;
+    }
+
+    /**
+     * Gets the number of threads which search the machine's moves together.
+     *
+     * @return The number of threads, including the calling one.
+     */
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
+    /**
+     * Sets the number of threads which search the machine's moves together.
+     * All but the calling thread are helpers, which only share their results
+     * through the transposition table. The machine chooses the same moves
+     * whatever the number of threads.
+     *
+     * @param threads The number of threads, including the calling one. It is
+     *                1 by default.
+     * @throws IllegalArgumentException If the number of threads is not
+     *                                  positive.
+     */
+    public void setSearchThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be "
+                    + "positive.");
+        }
+        searchThreads = threads;
+    }
+
+    /**
+     * Gets the engine which searches the machine's moves.
+     *
+     * @return The engine.
+     */
+    public SearchEngine getSearchEngine() {
+        return searchEngine;
+    }
+
+    /**
+     * Sets the engine which searches the machine's moves. The Monte Carlo
+     * tree search shares its tree among the search threads, but neither uses
+     * the pool nor the transposition table, and the machine does not ponder
+     * with it.
+     *
+     * @param engine The engine. It is {@code ALPHA_BETA} by default.
+     * @throws IllegalArgumentException If the engine is {@code null}.
+     */
+    public void setSearchEngine(SearchEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("The search engine must not be "
+                    + "null.");
+        }
+        searchEngine = engine;
+    }
+
+    /**
+     * Determines whether the machine ponders after its moves.
+     *
+     * @return Return {@code true} if the machine ponders. Otherwise return
+     * {@code false}.
+     */
+    public boolean isPondering() {
+        return pondering;
+    }
+
+    /**
+     * Enables or disables pondering: after each of its moves, the machine
+     * searches its answers to the replies of the human in the background,
+     * the expected reply first. When the human has moved, the machine answers
+     * at once if it has pondered on the reply. It chooses the same moves
+     * either way. Disabling pondering stops the current pondering.
+     *
+     * @param pondering Whether the machine ponders after its moves. It does
+     *                  not by default.
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) {
+            ponderer.stop();
+        }
+    }
+
+    /**
+     * Stops the current pondering of this game, e.g., because the human has
+     * taken back a move or started a new game, so that its answers will not
+     * be needed. Pondering stays enabled for the next move of the machine.
+     */
+    public void stopPondering() {
+        ponderer.stop();
+    }
+
+    /**
+     * Gets the ponderer which searches the machine's moves of this game on
+     * the human's time.
+     *
+     * @return The ponderer.
+     */
+    public Ponderer getPonderer() {
+        return ponderer;
+    }
+}
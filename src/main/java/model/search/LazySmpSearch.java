@@ -0,0 +1,221 @@
+package model.search;
+
+import model.chessboard.BitBoard;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A search for the best move of the machine player by several threads which
+ * only communicate through a shared transposition table. The calling thread
+ * runs the main search, whose move is returned. Every further thread runs a
+ * helper, which searches the same board again and again with a depth
+ * increased by one until the main search is done. Helpers start with
+ * different moves of the root and every other helper one move deeper than
+ * the main search, so that they store results the main search has not found
+ * yet.
+ *
+ * As results are only reused for boards of the same height, the main search
+ * chooses the same move as a search by a single thread. Only the number of
+ * boards it has to visit itself decreases.
+ *
+ * Interrupting the calling thread cancels the main search, which aborts the
+ * helpers in turn.
+ */
+public class LazySmpSearch {
+
+    // The board whose next move is searched.
+    private final BitBoard board;
+
+    // The table through which the threads share their results.
+    private final TranspositionTable table;
+
+    // The pool which searches younger siblings of the main search in parallel
+    // or null.
+    private final ForkJoinPool pool;
+
+    // The number of threads, including the calling one.
+    private final int threads;
+
+    // The statistics of the last search, covering all threads.
+    private final SearchStatistics statistics = new SearchStatistics();
+
+    /**
+     * Creates a search for the best move of the next player of a board by
+     * several threads.
+     *
+     * @param board   The board whose next move is searched. It is copied, so
+     *                the board itself is not changed by searching.
+     * @param table   The table through which the threads share their results.
+     * @param pool    The pool which searches younger siblings of the main
+     *                search in parallel. If it is {@code null}, the calling
+     *                thread searches all of them.
+     * @param threads The number of threads, including the calling one. With a
+     *                single thread, no helper is started.
+     * @throws IllegalArgumentException If the board or the table is {@code
+     *                                  null} or the number of threads is not
+     *                                  positive.
+     */
+    public LazySmpSearch(BitBoard board, TranspositionTable table,
+                         ForkJoinPool pool, int threads) {
+        if (board == null) {
+            throw new IllegalArgumentException("The board to search must not "
+                    + "be null.");
+        } else if (table == null) {
+            throw new IllegalArgumentException("The threads need a table to "
+                    + "share their results.");
+        } else if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be "
+                    + "positive.");
+        }
+        this.board = (BitBoard) board.clone();
+        this.table = table;
+        this.pool = pool;
+        this.threads = threads;
+    }
+
+    /**
+     * Searches the best move of the machine player to a fixed depth. The
+     * move is the same as the one of {@link AlphaBetaSearch#findBestMove(int)}.
+     *
+     * @param depth The number of moves which are looked ahead, including the
+     *              move of the machine.
+     * @return The best move, encoded as described by {@code Move}.
+     * @throws IllegalArgumentException If the depth is not positive.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search is completed.
+     */
+    public int findBestMove(int depth) {
+        return search((main, startHelpers) -> {
+            startHelpers.run();
+            return main.findBestMove(depth);
+        }, depth, null);
+    }
+
+    /**
+     * Searches the best move of the machine player within a time budget by
+     * iterative deepening, as {@link AlphaBetaSearch#findBestMove(Duration)}
+     * does.
+     *
+     * @param budget The time available for searching.
+     * @return The best move, encoded as described by {@code Move}.
+     * @throws IllegalArgumentException If the budget is not positive.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search of depth one is
+     *                                  completed.
+     */
+    public int findBestMove(Duration budget) {
+        return search((main, startHelpers) -> {
+            startHelpers.run();
+            return main.findBestMove(budget);
+        }, 1, null);
+    }
+
+    /**
+     * Searches the best move of the machine player by iterative deepening
+     * within limits, as {@link AlphaBetaSearch#findBestMove(SearchLimits,
+     * SearchListener)} does. The limit of the visited boards covers the
+     * boards of all threads, so the chosen move depends on how fast the
+     * helpers are. The helpers start when the main search has completed
+     * depth one, so that its boards are charged to the limit first and the
+     * threads visit no more boards than the limit or depth one, whichever
+     * is more.
+     *
+     * @param limits   The limits of the search.
+     * @param listener The listener which is informed about every depth
+     *                 completed by the main search or {@code null}.
+     * @return The best move, encoded as described by {@code Move}.
+     * @throws IllegalArgumentException If the limits are {@code null}.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the search of depth one is
+     *                                  completed.
+     */
+    public int findBestMove(SearchLimits limits, SearchListener listener) {
+        if (limits == null) {
+            throw new IllegalArgumentException("The search limits must not "
+                    + "be null.");
+        }
+        AtomicLong nodeBudget = limits.getNodes() == 0 ? null
+                : new AtomicLong(limits.getNodes());
+        return search((main, startHelpers) -> main.findBestMove(limits,
+                (depth, score, nodes, bestMove) -> {
+                    if (depth == 1) {
+                        startHelpers.run();
+                    }
+                    if (listener != null) {
+                        listener.progress(depth, score, nodes, bestMove);
+                    }
+                }, nodeBudget), 2, nodeBudget);
+    }
+
+    /**
+     * Runs the main search in the calling thread while the helpers search on
+     * threads of the helper pool, from when the main search starts them until
+     * it is done.
+     *
+     * @param mainSearch The search of the main thread for the best move,
+     *                   which is given the action that starts the helpers.
+     *                   Later runs of the action are ignored.
+     * @param depth      The depth at which the helpers start.
+     * @param nodeBudget The number of boards which all threads may still
+     *                   visit together or {@code null} if it is not limited.
+     * @return The move found by the main search.
+     */
+    private int search(ToIntBiFunction<AlphaBetaSearch, Runnable> mainSearch,
+                       int depth, AtomicLong nodeBudget) {
+        AlphaBetaSearch main = new AlphaBetaSearch(board, table, pool);
+        AlphaBetaSearch[] helpers = new AlphaBetaSearch[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new AlphaBetaSearch(board, table);
+            helpers[i].setRootRotation(i + 1);
+            helpers[i].setNodeBudget(nodeBudget);
+        }
+        List<Future<?>> running = new ArrayList<>();
+        Runnable startHelpers = () -> {
+            for (int i = running.size(); i < helpers.length; i++) {
+                AlphaBetaSearch helper = helpers[i];
+                int firstDepth = depth + i % 2;
+                running.add(SearchHelpers.start(
+                        () -> helper.searchUntilAborted(firstDepth)));
+            }
+        };
+
+        try {
+            return mainSearch.applyAsInt(main, startHelpers);
+        } finally {
+            for (AlphaBetaSearch helper : helpers) {
+                helper.abort();
+            }
+            statistics.reset();
+            statistics.add(main.getStatistics());
+            statistics.complete(main.getStatistics().getDepth());
+            for (int i = 0; i < running.size(); i++) {
+                SearchHelpers.awaitUninterruptibly(running.get(i));
+                statistics.add(helpers[i].getStatistics());
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of the last search. The boards visited by the
+     * helpers are included, the completed depth is the one of the main
+     * search.
+     *
+     * @return The statistics of the last search.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,543 @@
+package model.search;
+
+import model.chessboard.BitBoard;
+import model.chessboard.Board;
+import model.chessboard.Move;
+import model.player.Player;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Monte Carlo tree search for the best move of the machine player, an
+ * alternative to {@link AlphaBetaSearch} which does not rate boards at all.
+ * Instead, games are played to their end by choosing moves at random, and the
+ * moves which win most of these playouts are explored most. The tree of the
+ * explored boards grows by the children of a leaf once {@code
+ * EXPANSION_VISITS} playouts have passed through it. Which child a playout
+ * passes through is chosen by UCT, i.e., by the share of won playouts plus a
+ * bonus for children which have been explored less than their siblings. The
+ * chosen move is the one the most playouts have passed through.
+ *
+ * Playouts are light: a move onto the opponent's base row is always chosen,
+ * as it wins at once, any other move at random. Pawns chess ends after at
+ * most {@code 2 * SIZE * (SIZE - 2)} moves, so playouts are short.
+ *
+ * Several threads share the tree. A playout counts as lost for its moves as
+ * soon as it passes through them and only its result replaces the loss, so
+ * that threads which run at the same time take different paths through the
+ * tree. With a single thread, the search always chooses the same move for
+ * the same limits, as the random numbers have a fixed seed.
+ *
+ * The search can be stopped from another thread at any time, and the best
+ * move found so far can be read while it runs. Interrupting the calling
+ * thread stops the search as well.
+ */
+public class MonteCarloSearch {
+
+    // The number of playouts of a search which is limited by depth for each
+    // level of the machine.
+    private static final int PLAYOUTS_PER_LEVEL = 4000;
+
+    // The weight of the bonus of less explored children in UCT.
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    // The number of playouts through a leaf after which its children are
+    // added to the tree.
+    private static final int EXPANSION_VISITS = 4;
+
+    // The greatest number of moves and suspensions of a game. Every move
+    // advances a pawn and no player suspends twice in a row.
+    private static final int MAX_PLIES = 4 * Board.SIZE * (Board.SIZE - 2) + 2;
+
+    // The move by which a player who has no legal move suspends.
+    private static final int SUSPENSION = Move.NONE;
+
+    // The seed of the random numbers of the calling thread. The helpers use
+    // the following seeds.
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    // The number of playouts after which the listener is informed first. It
+    // is informed again whenever the number has doubled.
+    private static final long FIRST_PROGRESS = 1024;
+
+    // The board whose next move is searched.
+    private final BitBoard board;
+
+    // The number of threads, including the calling one.
+    private final int threads;
+
+    // The root of the tree of the running or last search or null.
+    private volatile Node root;
+
+    // The number of playouts of the running or last search.
+    private final AtomicLong playouts = new AtomicLong();
+
+    // The number of playouts which may still be started or null if it is
+    // not limited.
+    private volatile AtomicLong playoutBudget;
+
+    // Whether the current search has to stop at the deadline.
+    private volatile boolean timed;
+
+    // The value of System.nanoTime() at which a timed search has to stop.
+    private volatile long deadline;
+
+    // Whether the running search has been stopped.
+    private volatile boolean stopped;
+
+    // The value of System.nanoTime() at which the last search started.
+    private volatile long start;
+
+    // The time the last search took in nanoseconds, or 0 while it runs.
+    private volatile long duration;
+
+    /**
+     * A board in the tree of the search. Its statistics are shared by all
+     * threads and updated without locks.
+     */
+    private static final class Node {
+
+        // The move which leads to the board, SUSPENSION if its player had to
+        // suspend, or Move.NONE at the root.
+        private final int move;
+
+        // The player who made the move or null at the root.
+        private final Player mover;
+
+        // The boards after the moves of the next player, or null if they have
+        // not been added to the tree yet.
+        private volatile Node[] children;
+
+        // The number of playouts which have passed through the board,
+        // including running ones.
+        private final AtomicInteger visits = new AtomicInteger();
+
+        // The points the mover has scored in the finished playouts: two for
+        // a win, one for a draw.
+        private final AtomicInteger points = new AtomicInteger();
+
+        /**
+         * Creates a board of the tree which has not been visited yet.
+         *
+         * @param move  The move which leads to the board.
+         * @param mover The player who made the move.
+         */
+        private Node(int move, Player mover) {
+            this.move = move;
+            this.mover = mover;
+        }
+    }
+
+    /**
+     * Creates a Monte Carlo tree search for the best move of the next player
+     * of a board.
+     *
+     * @param board   The board whose next move is searched. It is copied, so
+     *                the board itself is not changed by searching.
+     * @param threads The number of threads which share the tree, including
+     *                the calling one.
+     * @throws IllegalArgumentException If the board is {@code null} or the
+     *                                  number of threads is not positive.
+     */
+    public MonteCarloSearch(BitBoard board, int threads) {
+        if (board == null) {
+            throw new IllegalArgumentException("The board to search must not "
+                    + "be null.");
+        } else if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be "
+                    + "positive.");
+        }
+        this.board = (BitBoard) board.clone();
+        this.threads = threads;
+    }
+
+    /**
+     * Searches the best move of the machine player within limits. A limit of
+     * the visited boards limits the number of playouts, which stops exactly
+     * at it. A depth allows {@code PLAYOUTS_PER_LEVEL} playouts for each
+     * level, so that the level of the machine keeps its meaning. If several
+     * limits are set, the search stops at the first one it reaches.
+     *
+     * @param limits   The limits of the search.
+     * @param listener The listener which is informed after {@code
+     *                 FIRST_PROGRESS} playouts and whenever their number has
+     *                 doubled, or {@code null}. It gets the depth of the most
+     *                 explored line of the tree, the share of the points the
+     *                 best move scored between 0 and 1 and the number of
+     *                 playouts.
+     * @return The move the most playouts have passed through, encoded as
+     * described by {@code Move}.
+     * @throws IllegalArgumentException If the limits are {@code null}.
+     * @throws IllegalCallerException   If it is not the machine's turn or the
+     *                                  machine has no legal move.
+     * @throws CancellationException    If the search is stopped before the
+     *                                  first playout. The calling thread stays
+     *                                  interrupted.
+     */
+    public int findBestMove(SearchLimits limits, SearchListener listener) {
+        if (limits == null) {
+            throw new IllegalArgumentException("The search limits must not "
+                    + "be null.");
+        } else if (board.getNextPlayer() != Player.MACHINE) {
+            throw new IllegalCallerException("It is not the machine player's "
+                    + "turn.");
+        } else if (board.generateMoves(new int[Move.MAX_MOVES]) == 0) {
+            throw new IllegalCallerException("The machine player has no legal "
+                    + "move.");
+        }
+
+        long budget = limits.getNodes();
+        if (limits.getDepth() != 0) {
+            long levelBudget = (long) PLAYOUTS_PER_LEVEL * limits.getDepth();
+            budget = budget == 0 ? levelBudget : Math.min(budget, levelBudget);
+        }
+        playoutBudget = budget == 0 ? null : new AtomicLong(budget);
+        start = System.nanoTime();
+        duration = 0;
+        timed = limits.getMovetime() != null;
+        if (timed) {
+            deadline = start + limits.getMovetime().toNanos();
+        }
+        playouts.set(0);
+        stopped = false;
+        Node newRoot = new Node(Move.NONE, null);
+        Worker main = new Worker(SEED);
+        main.expand(newRoot);
+        root = newRoot;
+
+        Future<?>[] helpers = new Future<?>[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            Worker helper = new Worker(SEED + i + 1);
+            helpers[i] = SearchHelpers.start(() -> helper.run(false, null));
+        }
+        try {
+            main.run(true, listener);
+        } finally {
+            stopped = true;
+            for (Future<?> helper : helpers) {
+                SearchHelpers.awaitUninterruptibly(helper);
+            }
+            duration = Math.max(System.nanoTime() - start, 1);
+        }
+
+        int bestMove = getBestMove();
+        if (bestMove == Move.NONE) {
+            throw new CancellationException("The search has been stopped "
+                    + "before the first playout.");
+        }
+        return bestMove;
+    }
+
+    /**
+     * Stops the running search from another thread. It returns the best move
+     * found so far after the running playouts.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Gets the best move found so far, i.e., the move the most playouts have
+     * passed through. Can be called from any thread while the search runs.
+     * If several moves have been played out equally often, the one generated
+     * first is chosen.
+     *
+     * @return The best move or {@code Move.NONE} if no move has been played
+     * out yet.
+     */
+    public int getBestMove() {
+        Node best = bestChild(root);
+        return best == null ? Move.NONE : best.move;
+    }
+
+    /**
+     * Gets the number of playouts of the running or last search.
+     *
+     * @return The number of finished playouts.
+     */
+    public long getPlayouts() {
+        return playouts.get();
+    }
+
+    /**
+     * Gets the number of playouts per second of the running or last search,
+     * the measure of the speed of the search.
+     *
+     * @return The number of playouts per second or 0 if no search has been
+     * run.
+     */
+    public double getPlayoutsPerSecond() {
+        if (root == null) {
+            return 0;
+        }
+        long nanos = duration != 0 ? duration
+                : Math.max(System.nanoTime() - start, 1);
+        return playouts.get() * 1e9 / nanos;
+    }
+
+    /**
+     * Determines the child of a board of the tree which the most playouts
+     * have passed through.
+     *
+     * @param node The board or {@code null}.
+     * @return The child or {@code null} if the board has no visited child.
+     */
+    private static Node bestChild(Node node) {
+        Node[] children = node == null ? null : node.children;
+        if (children == null) {
+            return null;
+        }
+        Node best = null;
+        int bestVisits = 0;
+        for (Node child : children) {
+            int visits = child.visits.get();
+            if (visits > bestVisits) {
+                best = child;
+                bestVisits = visits;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs playouts on the shared tree in one thread. Every thread has its
+     * own copy of the board, on which the moves are executed and taken back,
+     * and its own random numbers.
+     */
+    private final class Worker {
+
+        // The board on which the moves of the playouts are executed.
+        private final BitBoard board = (BitBoard) MonteCarloSearch.this.board
+                .clone();
+
+        // The random numbers which choose the moves of the playouts.
+        private final SplittableRandom random;
+
+        // The boards of the tree the current playout passes through, after
+        // the root.
+        private final Node[] path = new Node[MAX_PLIES];
+
+        // The moves executed by the current playout, in the tree and below.
+        private final int[] moves = new int[MAX_PLIES];
+
+        // The information to take back the executed moves.
+        private final int[] undoInfos = new int[MAX_PLIES];
+
+        // The buffer for generated moves.
+        private final int[] legalMoves = new int[Move.MAX_MOVES];
+
+        /**
+         * Creates a worker.
+         *
+         * @param seed The seed of its random numbers.
+         */
+        private Worker(long seed) {
+            random = new SplittableRandom(seed);
+        }
+
+        /**
+         * Runs playouts until the search is stopped or a limit is reached.
+         *
+         * @param main     Whether the worker runs on the calling thread, which
+         *                 stops the search once it is interrupted.
+         * @param listener The listener which is informed about the progress
+         *                 or {@code null}.
+         */
+        private void run(boolean main, SearchListener listener) {
+            long nextProgress = FIRST_PROGRESS;
+            while (!stopped) {
+                AtomicLong budget = playoutBudget;
+                if (budget != null && budget.getAndDecrement() <= 0
+                        || timed && System.nanoTime() - deadline >= 0
+                        || main && Thread.currentThread().isInterrupted()) {
+                    stopped = true;
+                    break;
+                }
+                playOut();
+
+                long done = playouts.incrementAndGet();
+                if (listener != null && done >= nextProgress) {
+                    nextProgress *= 2;
+                    informListener(listener, done);
+                }
+            }
+        }
+
+        /**
+         * Plays one game from the root to its end and scores its result for
+         * the moves of the tree it passed through.
+         */
+        private void playOut() {
+            Node node = root;
+            node.visits.incrementAndGet();
+            int length = 0;
+            while (true) {
+                Node[] children = node.children;
+                if (children == null) {
+                    if (node.visits.get() <= EXPANSION_VISITS
+                            || board.isGameOver()) {
+                        break;
+                    }
+                    children = expand(node);
+                }
+                node = select(node, children);
+
+                // Count the playout as lost until its result is known.
+                node.visits.incrementAndGet();
+                path[length] = node;
+                makeMove(node.move, length++);
+            }
+
+            Player winner = finishGame(length);
+            for (int ply = length - 1; ply >= 0; ply--) {
+                Player mover = path[ply].mover;
+                path[ply].points.addAndGet(winner == null ? 1
+                        : winner == mover ? 2 : 0);
+                unmakeMove(ply);
+            }
+        }
+
+        /**
+         * Adds the children of a board to the tree, unless another thread
+         * already has. The board of this worker has to be the board of the
+         * node.
+         *
+         * @param node The board whose children are added.
+         * @return The children.
+         */
+        private Node[] expand(Node node) {
+            synchronized (node) {
+                if (node.children == null) {
+                    int count = board.generateMoves(legalMoves);
+                    Player mover = board.getNextPlayer();
+                    Node[] children;
+                    if (count == 0) {
+                        children = new Node[]{new Node(SUSPENSION, mover)};
+                    } else {
+                        children = new Node[count];
+                        for (int i = 0; i < count; i++) {
+                            children[i] = new Node(legalMoves[i], mover);
+                        }
+                    }
+                    node.children = children;
+                }
+                return node.children;
+            }
+        }
+
+        /**
+         * Chooses the child of a board which a playout passes through by
+         * UCT. Children which have not been visited yet come first.
+         *
+         * @param node     The board.
+         * @param children The children of the board.
+         * @return The chosen child.
+         */
+        private Node select(Node node, Node[] children) {
+            double logVisits = Math.log(Math.max(node.visits.get(), 1));
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int visits = child.visits.get();
+                if (visits == 0) {
+                    return child;
+                }
+                double value = child.points.get() / (2.0 * visits)
+                        + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays the game on the board of this worker to its end with light
+         * random moves, then takes these moves back.
+         *
+         * @param ply The number of moves executed in the tree.
+         * @return The winner or {@code null} in case of a draw.
+         */
+        private Player finishGame(int ply) {
+            int length = ply;
+            while (!board.isGameOver()) {
+                int count = board.generateMoves(legalMoves);
+                makeMove(count == 0 ? SUSPENSION : chooseMove(count),
+                        length++);
+            }
+            Player winner = board.getWinner();
+            while (length > ply) {
+                unmakeMove(--length);
+            }
+            return winner;
+        }
+
+        /**
+         * Chooses a move of a playout: a move onto the opponent's base row,
+         * which wins at once, or any move at random.
+         *
+         * @param count The number of generated moves.
+         * @return The chosen move.
+         */
+        private int chooseMove(int count) {
+            int baseRow = board.getNextPlayer() == Player.HUMAN
+                    ? Board.SIZE : 1;
+            for (int i = 0; i < count; i++) {
+                if (Move.getRowTo(legalMoves[i]) == baseRow) {
+                    return legalMoves[i];
+                }
+            }
+            return legalMoves[random.nextInt(count)];
+        }
+
+        /**
+         * Executes a move or a suspension on the board of this worker.
+         *
+         * @param move The move or {@code SUSPENSION}.
+         * @param ply  The number of moves executed before.
+         */
+        private void makeMove(int move, int ply) {
+            moves[ply] = move;
+            if (move == SUSPENSION) {
+                board.suspendMove();
+            } else {
+                undoInfos[ply] = board.makeMove(move);
+            }
+        }
+
+        /**
+         * Takes back the move or suspension executed last.
+         *
+         * @param ply The number of moves executed before it.
+         */
+        private void unmakeMove(int ply) {
+            if (moves[ply] == SUSPENSION) {
+                board.suspendMove();
+            } else {
+                board.unmakeMove(moves[ply], undoInfos[ply]);
+            }
+        }
+
+        /**
+         * Informs the listener about the progress of the search.
+         *
+         * @param listener The listener.
+         * @param done     The number of finished playouts.
+         */
+        private void informListener(SearchListener listener, long done) {
+            Node best = bestChild(root);
+            int depth = 0;
+            for (Node node = best; node != null; node = bestChild(node)) {
+                depth++;
+            }
+            int visits = best.visits.get();
+            listener.progress(depth, best.points.get() / (2.0 * visits),
+                    done, best.move);
+        }
+    }
+}
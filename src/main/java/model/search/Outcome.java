@@ -0,0 +1,29 @@
+package model.search;
+
+/**
+ * The result of a game which a {@link ProofNumberSearch} has proven, from
+ * the perspective of the player who moves next on the solved board.
+ */
+public enum Outcome {
+
+    /**
+     * The player wins whatever the opponent does.
+     */
+    WIN,
+
+    /**
+     * Neither player can force a win, so the game ends in a draw if both
+     * play well.
+     */
+    DRAW,
+
+    /**
+     * The opponent wins whatever the player does.
+     */
+    LOSS,
+
+    /**
+     * The result could not be proven within the node budget.
+     */
+    UNKNOWN
+}
@@ -0,0 +1,234 @@
+package model.search;
+
+import model.chessboard.BitBoard;
+import model.chessboard.Move;
+import model.player.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Searches the machine's next move on the human's time. After the machine has
+ * moved, a thread of the search helpers searches the machine's answer to every
+ * reply of the human, the expected reply first, and keeps the chosen moves. The
+ * expected reply is the best move of the human found by the search of the
+ * machine's move, as stored in the transposition table. When the human has
+ * moved, the machine takes its pondered answer instead of searching again.
+ * Every search also fills the transposition table, so that even a reply which
+ * has not been pondered yet is searched faster.
+ *
+ * The pondering searches are the same as the ones of the machine's moves,
+ * so a pondered answer is the move the machine would have chosen anyway.
+ */
+public class Ponderer {
+
+    // The answers of the machine found so far, indexed by the boards after
+    // the replies of the human.
+    private final Map<BitBoard, Integer> answers = new HashMap<>();
+
+    // The level of the pondering searches.
+    private int level;
+
+    // The board whose answer is currently searched or null.
+    private BitBoard current;
+
+    // The pondering running on a thread of the helpers or null if there is
+    // none.
+    private Future<?> task;
+
+    // The number of ponderings started or stopped so far. A pondering which
+    // no longer matches it has been stopped and leaves the answers alone.
+    private long generation;
+
+    /**
+     * Starts pondering after a move of the machine. The answer to the
+     * expected reply of the human is searched first, then the answers to the
+     * remaining replies in the order of generation. If the machine moves
+     * again without a reply, its next move is searched instead. A previous
+     * pondering is stopped.
+     *
+     * @param board   The board after the move of the machine.
+     * @param level   The level of the machine, i.e., the depth of its
+     *                searches.
+     * @param table   The transposition table shared with the searches of the
+     *                machine's moves.
+     * @param pool    The pool which searches younger siblings in parallel or
+     *                {@code null}.
+     * @param threads The number of threads of every search, including the
+     *                pondering one.
+     * @throws IllegalArgumentException If the board or the table is {@code
+     *                                  null} or the level or the number of
+     *                                  threads is not positive.
+     */
+    public synchronized void start(BitBoard board, int level,
+                                   TranspositionTable table,
+                                   ForkJoinPool pool, int threads) {
+        if (board == null || table == null) {
+            throw new IllegalArgumentException("Pondering needs a board and "
+                    + "a table.");
+        } else if (level < 1 || threads < 1) {
+            throw new IllegalArgumentException("The level and the number of "
+                    + "threads must be positive.");
+        }
+        stop();
+        answers.clear();
+        this.level = level;
+
+        List<BitBoard> boards = createMachineBoards(board, table);
+        if (boards.isEmpty()) {
+            return;
+        }
+
+        // The first board is searched right away, so that its answer is
+        // awaited by takeMove() even if the task has not yet started.
+        current = boards.get(0);
+        long run = generation;
+        task = SearchHelpers.start(
+                () -> ponder(boards, level, table, pool, threads, run));
+    }
+
+    /**
+     * Determines the boards on which the machine can move next, i.e., the
+     * boards after the replies of the human, the expected reply first, or
+     * the board itself if the human has to suspend.
+     *
+     * @param board The board after the move of the machine.
+     * @param table The table which holds the expected reply.
+     * @return The boards on which the machine can move next.
+     */
+    private static List<BitBoard> createMachineBoards(BitBoard board,
+                                                      TranspositionTable
+                                                              table) {
+        List<BitBoard> boards = new ArrayList<>();
+        if (board.isGameOver()) {
+            return boards;
+        } else if (board.getNextPlayer() == Player.MACHINE) {
+            boards.add(board);
+            return boards;
+        }
+
+        int[] replies = new int[Move.MAX_MOVES];
+        int count = board.generateMoves(replies);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        int expected = table.probe(board.getPositionKey(), entry)
+                ? entry.move : Move.NONE;
+        for (int i = 0; i < count; i++) {
+            BitBoard next = (BitBoard) board.move(
+                    Move.getColFrom(replies[i]), Move.getRowFrom(replies[i]),
+                    Move.getColTo(replies[i]), Move.getRowTo(replies[i]));
+            if (next.getNextPlayer() == Player.MACHINE
+                    && !next.isGameOver()) {
+                if (replies[i] == expected) {
+                    boards.add(0, next);
+                } else {
+                    boards.add(next);
+                }
+            }
+        }
+        return boards;
+    }
+
+    /**
+     * Searches the answers of the machine one board after another until all
+     * are known or pondering is stopped. Runs on a thread of the helpers.
+     *
+     * @param boards  The boards on which the machine can move next.
+     * @param level   The depth of the searches.
+     * @param table   The shared transposition table.
+     * @param pool    The pool which searches younger siblings in parallel or
+     *                {@code null}.
+     * @param threads The number of threads of every search.
+     * @param run     The generation of this pondering.
+     */
+    private void ponder(List<BitBoard> boards, int level,
+                        TranspositionTable table, ForkJoinPool pool,
+                        int threads, long run) {
+        for (BitBoard board : boards) {
+            synchronized (this) {
+                if (run != generation) {
+                    return;
+                }
+                current = board;
+            }
+
+            Integer answer;
+            try {
+                answer = new LazySmpSearch(board, table, pool, threads)
+                        .findBestMove(level);
+            } catch (CancellationException e) {
+                answer = null;
+            }
+
+            synchronized (this) {
+                if (run != generation) {
+                    return;
+                }
+                current = null;
+                if (answer != null) {
+                    answers.put(board, answer);
+                }
+                notifyAll();
+                if (answer == null) {
+                    return;
+                }
+            }
+        }
+        synchronized (this) {
+            if (run == generation) {
+                task = null;
+            }
+        }
+    }
+
+    /**
+     * Takes the pondered answer of the machine to a board and stops
+     * pondering, so that the machine can search other boards with all
+     * threads. If the answer to the board is being searched, the search is
+     * awaited, as it is ahead of a new one.
+     *
+     * @param board The board on which the machine moves.
+     * @param level The level of the machine. Answers found for another level
+     *              are not taken.
+     * @return The pondered move or {@code Move.NONE} if the board has not
+     * been pondered.
+     * @throws CancellationException If the calling thread is interrupted
+     *                               while it awaits the answer. The thread
+     *                               stays interrupted.
+     */
+    public synchronized int takeMove(BitBoard board, int level) {
+        try {
+            while (level == this.level && board.equals(current)) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            stop();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Waiting for the pondered move "
+                    + "has been interrupted.");
+        }
+
+        Integer answer = level == this.level ? answers.get(board) : null;
+        stop();
+        return answer == null ? Move.NONE : answer;
+    }
+
+    /**
+     * Stops pondering. The pondering search returns within a few
+     * milliseconds. The answers found so far are kept until pondering is
+     * started again.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(true);
+            task = null;
+        }
+        generation++;
+        current = null;
+        notifyAll();
+    }
+}
@@ -0,0 +1,419 @@
+package model.search;
+
+import model.chessboard.BitBoard;
+import model.chessboard.Board;
+import model.chessboard.Move;
+import model.player.Player;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * A depth-first proof-number search (df-pn) which solves boards, i.e.,
+ * proves whether the next player wins, draws or loses if both players play
+ * perfectly. Unlike {@link AlphaBetaSearch}, it does not rate boards and has
+ * no horizon: it only stops at the end of the game, under the rules of
+ * {@code Board.getWinner()}, so a stalemate is won by the player with more
+ * pawns and drawn if both have as many.
+ *
+ * The search proves one goal at a time. For every board, the proof number is
+ * the least number of boards at the end of the game which still have to be
+ * proven to prove the goal, and the disproof number the least number to
+ * disprove it. The search always descends into the most proving child, where
+ * the goal is closest to being decided, until the numbers of a child exceed
+ * thresholds derived from its siblings. First, the search tries to prove
+ * that the player wins. If that is disproven, it tries to prove that the
+ * player wins or draws.
+ *
+ * The numbers of visited boards are kept in a transposition table, so that
+ * boards reached by different orders of moves are searched once. As every
+ * move advances a pawn, no board can repeat within a game, and the proofs do
+ * not depend on the path to a board. The search stops at a fixed number of
+ * visited boards, so it is cheap to try even where the result cannot be
+ * proven.
+ *
+ * The search is cancelled by interrupting the calling thread, which is
+ * checked after every {@code INTERRUPT_INTERVAL} boards.
+ */
+public class ProofNumberSearch {
+
+    // The proof number of a disproven goal and the disproof number of a
+    // proven one. Sums of numbers are capped just below it.
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    // The greatest number of moves and suspensions of a game. Every move
+    // advances a pawn and no player suspends twice in a row.
+    private static final int MAX_PLIES = 4 * Board.SIZE * (Board.SIZE - 2) + 2;
+
+    // The move by which a player who has no legal move suspends.
+    private static final int SUSPENSION = Move.NONE;
+
+    // The number of visited boards after which the interrupt flag of the
+    // calling thread is checked again.
+    private static final int INTERRUPT_INTERVAL = 1024;
+
+    // The least and the greatest number of entries of the transposition
+    // table. In between, it has an entry for every board the budget allows.
+    private static final int MIN_TABLE_SIZE = 1 << 10;
+    private static final int MAX_TABLE_SIZE = 1 << 20;
+
+    // The board which is solved. The search makes its moves on it and takes
+    // them back.
+    private final BitBoard board;
+
+    // The player who moves next on the solved board.
+    private final Player player;
+
+    // The moves of the boards on the current line, for each ply.
+    private final int[][] moves = new int[MAX_PLIES][Move.MAX_MOVES];
+
+    // The proof numbers of the children of the boards on the current line.
+    private final int[][] childProofs = new int[MAX_PLIES][Move.MAX_MOVES];
+
+    // The disproof numbers of the children of the boards on the current
+    // line.
+    private final int[][] childDisproofs = new int[MAX_PLIES][Move.MAX_MOVES];
+
+    // The keys of the boards stored in the transposition table.
+    private long[] tableKeys;
+
+    // The proof numbers stored in the transposition table. An entry whose
+    // numbers are both 0 is empty.
+    private int[] tableProofs;
+
+    // The disproof numbers stored in the transposition table.
+    private int[] tableDisproofs;
+
+    // Whether a draw proves the current goal, i.e., whether the goal is
+    // that the player wins or draws rather than that he wins.
+    private boolean drawProves;
+
+    // The number of boards visited by the last solution.
+    private long nodes;
+
+    // The number of boards which the last solution may visit.
+    private long budget;
+
+    // Whether the last solution has run out of its budget or has been
+    // interrupted.
+    private boolean exhausted;
+
+    // Whether the last solution has been interrupted.
+    private boolean interrupted;
+
+    // The proof number of the board searched last.
+    private int proof;
+
+    // The disproof number of the board searched last.
+    private int disproof;
+
+    // The move which achieves the proven result or Move.NONE.
+    private int bestMove = Move.NONE;
+
+    /**
+     * Creates a proof-number search which solves a board for its next
+     * player.
+     *
+     * @param board The board to solve. It is copied, so the board itself is
+     *              not changed by solving.
+     * @throws IllegalArgumentException If the board is {@code null}.
+     */
+    public ProofNumberSearch(BitBoard board) {
+        if (board == null) {
+            throw new IllegalArgumentException("The board to solve must not "
+                    + "be null.");
+        }
+        this.board = (BitBoard) board.clone();
+        this.player = board.getNextPlayer();
+    }
+
+    /**
+     * Solves the board for its next player within a budget of visited
+     * boards, which both goals share.
+     *
+     * @param nodes The number of boards which may be visited.
+     * @return The proven result from the perspective of the next player or
+     * {@code Outcome.UNKNOWN} if it could not be proven within the budget.
+     * @throws IllegalArgumentException If the budget is not positive.
+     * @throws IllegalCallerException   If the game is over or the next player
+     *                                  has no legal move.
+     * @throws CancellationException    If the calling thread is interrupted
+     *                                  before the result is proven. The thread
+     *                                  stays interrupted.
+     */
+    public Outcome solve(long nodes) {
+        if (nodes < 1) {
+            throw new IllegalArgumentException("The node budget must be "
+                    + "positive.");
+        } else if (board.isGameOver()) {
+            throw new IllegalCallerException("This game has already ended.");
+        } else if (board.generateMoves(moves[0]) == 0) {
+            throw new IllegalCallerException("The next player has no legal "
+                    + "move.");
+        }
+
+        int size = (int) Math.min(Math.max(Long.highestOneBit(nodes) * 2,
+                MIN_TABLE_SIZE), MAX_TABLE_SIZE);
+        tableKeys = new long[size];
+        tableProofs = new int[size];
+        tableDisproofs = new int[size];
+        this.nodes = 0;
+        budget = nodes;
+        exhausted = false;
+        interrupted = false;
+        bestMove = Move.NONE;
+
+        drawProves = false;
+        search(0, INFINITY, INFINITY);
+        if (interrupted) {
+            throw new CancellationException("The search has been "
+                    + "interrupted.");
+        } else if (exhausted) {
+            return Outcome.UNKNOWN;
+        } else if (proof == 0) {
+            bestMove = findProvingMove();
+            return Outcome.WIN;
+        }
+
+        // Boards which are won stay proven if a draw suffices, whereas
+        // disproven wins may still be draws.
+        for (int i = 0; i < size; i++) {
+            if (tableProofs[i] != 0) {
+                tableProofs[i] = 0;
+                tableDisproofs[i] = 0;
+            }
+        }
+        drawProves = true;
+        search(0, INFINITY, INFINITY);
+        if (interrupted) {
+            throw new CancellationException("The search has been "
+                    + "interrupted.");
+        } else if (exhausted) {
+            return Outcome.UNKNOWN;
+        } else if (proof == 0) {
+            bestMove = findProvingMove();
+            return Outcome.DRAW;
+        } else {
+            return Outcome.LOSS;
+        }
+    }
+
+    /**
+     * Gets the move which achieves the result of the last solution.
+     *
+     * @return The move, encoded as described by {@code Move}, if the last
+     * solution proved a win or a draw. Otherwise {@code Move.NONE}.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Gets the number of boards visited by the last solution.
+     *
+     * @return The number of visited boards, at most the budget.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Searches the board until its proof number reaches a threshold or its
+     * disproof number reaches another one, or the budget runs out. The
+     * numbers of the board are stored in the transposition table and left
+     * in {@code proof} and {@code disproof}.
+     *
+     * @param ply                The number of moves made on the board since
+     *                           the solved one.
+     * @param proofThreshold     The proof number at which the search stops.
+     * @param disproofThreshold  The disproof number at which the search
+     *                           stops.
+     */
+    private void search(int ply, int proofThreshold, int disproofThreshold) {
+        if (nodes == budget) {
+            exhausted = true;
+            return;
+        } else if (nodes % INTERRUPT_INTERVAL == 0
+                && Thread.currentThread().isInterrupted()) {
+            interrupted = true;
+            exhausted = true;
+            return;
+        }
+        nodes++;
+
+        long key = board.getPositionKey();
+        if (board.isGameOver()) {
+            Player winner = board.getWinner();
+            boolean proven = winner == player
+                    || (winner == null && drawProves);
+            proof = proven ? 0 : INFINITY;
+            disproof = proven ? INFINITY : 0;
+            store(key);
+            return;
+        }
+
+        int[] boardMoves = moves[ply];
+        int count = board.generateMoves(boardMoves);
+        if (count == 0) {
+            boardMoves[0] = SUSPENSION;
+            count = 1;
+        }
+        initChildren(ply, count);
+
+        // On the boards of the player one proven child proves the goal, on
+        // the boards of his opponent one disproven child disproves it.
+        boolean own = board.getNextPlayer() == player;
+        int[] selected = own ? childProofs[ply] : childDisproofs[ply];
+        int[] summed = own ? childDisproofs[ply] : childProofs[ply];
+        while (true) {
+            int best = 0;
+            int second = INFINITY;
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                if (selected[i] < selected[best]) {
+                    second = selected[best];
+                    best = i;
+                } else if (i != best && selected[i] < second) {
+                    second = selected[i];
+                }
+                sum += summed[i];
+            }
+            int min = selected[best];
+            int total = (int) Math.min(sum, INFINITY - 1);
+            for (int i = 0; i < count && total != INFINITY; i++) {
+                if (summed[i] == INFINITY) {
+                    total = INFINITY;
+                }
+            }
+
+            proof = own ? min : total;
+            disproof = own ? total : min;
+            if (proof >= proofThreshold || disproof >= disproofThreshold) {
+                store(key);
+                return;
+            }
+
+            // The child may take the numbers of its siblings until it is no
+            // longer the most proving one.
+            int childProof;
+            int childDisproof;
+            if (own) {
+                childProof = (int) Math.min(proofThreshold, second + 1L);
+                childDisproof = relax(disproofThreshold, disproof,
+                        summed[best]);
+            } else {
+                childProof = relax(proofThreshold, proof, summed[best]);
+                childDisproof = (int) Math.min(disproofThreshold,
+                        second + 1L);
+            }
+
+            int move = boardMoves[best];
+            int undoInfo = makeMove(move);
+            search(ply + 1, childProof, childDisproof);
+            unmakeMove(move, undoInfo);
+            childProofs[ply][best] = proof;
+            childDisproofs[ply][best] = disproof;
+            if (exhausted) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Calculates the threshold of the summed number of the child which is
+     * searched, i.e., the number the child may reach before the sum reaches
+     * the threshold of its parent.
+     *
+     * @param threshold The threshold of the sum of the parent.
+     * @param sum       The sum of the parent.
+     * @param child     The number of the child.
+     * @return The threshold of the child.
+     */
+    private static int relax(int threshold, int sum, int child) {
+        if (threshold == INFINITY) {
+            return INFINITY;
+        }
+        return (int) Math.min((long) threshold - sum + child, INFINITY);
+    }
+
+    /**
+     * Looks up the numbers of the children of the board. Children
+     * which have not been visited yet have both numbers 1.
+     *
+     * @param ply   The number of moves made on the board.
+     * @param count The number of children.
+     */
+    private void initChildren(int ply, int count) {
+        for (int i = 0; i < count; i++) {
+            int move = moves[ply][i];
+            int undoInfo = makeMove(move);
+            long childKey = board.getPositionKey();
+            unmakeMove(move, undoInfo);
+
+            int index = (int) childKey & (tableKeys.length - 1);
+            if (tableKeys[index] == childKey && (tableProofs[index] != 0
+                    || tableDisproofs[index] != 0)) {
+                childProofs[ply][i] = tableProofs[index];
+                childDisproofs[ply][i] = tableDisproofs[index];
+            } else {
+                childProofs[ply][i] = 1;
+                childDisproofs[ply][i] = 1;
+            }
+        }
+    }
+
+    /**
+     * Stores the numbers of the board searched last in the transposition
+     * table, replacing the board stored in its entry.
+     *
+     * @param key The key of the board.
+     */
+    private void store(long key) {
+        int index = (int) key & (tableKeys.length - 1);
+        tableKeys[index] = key;
+        tableProofs[index] = proof;
+        tableDisproofs[index] = disproof;
+    }
+
+    /**
+     * Finds the move of the solved board to a child which has been proven.
+     *
+     * @return The proving move.
+     */
+    private int findProvingMove() {
+        int count = board.generateMoves(moves[0]);
+        for (int i = 0; i < count; i++) {
+            if (childProofs[0][i] == 0) {
+                return moves[0][i];
+            }
+        }
+        throw new AssertionError("A proven board has no proven child.");
+    }
+
+    /**
+     * Executes a move or a suspension on the board.
+     *
+     * @param move The move or {@code SUSPENSION}.
+     * @return The undo information of the move.
+     */
+    private int makeMove(int move) {
+        if (move == SUSPENSION) {
+            board.suspendMove();
+            return 0;
+        }
+        return board.makeMove(move);
+    }
+
+    /**
+     * Takes back a move or a suspension.
+     *
+     * @param move     The move or {@code SUSPENSION}.
+     * @param undoInfo The undo information of the move.
+     */
+    private void unmakeMove(int move, int undoInfo) {
+        if (move == SUSPENSION) {
+            board.suspendMove();
+        } else {
+            board.unmakeMove(move, undoInfo);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package model.search;
+
+/**
+ * The engines which can search the moves of the machine player.
+ */
+public enum SearchEngine {
+
+    /**
+     * The alpha-beta search of {@link AlphaBetaSearch} and {@link
+     * LazySmpSearch}, which rates the boards at the horizon.
+     */
+    ALPHA_BETA,
+
+    /**
+     * The Monte Carlo tree search of {@link MonteCarloSearch}, which plays
+     * random games to their end instead of rating boards.
+     */
+    MONTE_CARLO
+}
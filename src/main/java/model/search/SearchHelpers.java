@@ -0,0 +1,79 @@
+package model.search;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The pool of threads which run the helpers of the parallel searches, i.e.,
+ * the threads which search the same board as the calling thread until its
+ * search is done, and the pondering of the machine. All searches of all games
+ * share the pool, which keeps idle threads for a while, so that a search does
+ * not have to start new threads for its helpers.
+ *
+ * The helpers do not run on the pool of an {@code EngineConfig}, as its
+ * workers search the younger siblings of the calling thread, which would
+ * wait for them forever if the helpers took all of the workers.
+ */
+final class SearchHelpers {
+
+    // The number of helper threads started so far, to name them.
+    private static final AtomicInteger STARTED = new AtomicInteger();
+
+    // The threads which run the helpers. They do not keep the application
+    // alive.
+    private static final ExecutorService POOL = Executors.newCachedThreadPool(
+            helper -> {
+                Thread thread = new Thread(helper, "Search helper "
+                        + STARTED.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Prevents instantiation.
+     */
+    private SearchHelpers() {
+    }
+
+    /**
+     * Starts a helper on a thread of the pool.
+     *
+     * @param helper The helper, which has to stop on its own once the search
+     *               it helps is done or once its thread is interrupted.
+     * @return The future which is completed when the helper has stopped.
+     */
+    static Future<?> start(Runnable helper) {
+        return POOL.submit(helper);
+    }
+
+    /**
+     * Waits for a helper to stop, even if the calling thread is interrupted
+     * meanwhile. The interrupt is kept for the caller.
+     *
+     * @param helper The future of the helper.
+     * @throws IllegalStateException If the helper has failed.
+     */
+    static void awaitUninterruptibly(Future<?> helper) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    helper.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("A search helper has "
+                            + "failed.", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package model.search;
+
+import java.time.Duration;
+
+/**
+ * The limits of a search for a machine move: the greatest depth, the number
+ * of boards which may be visited and the time available for the move. The
+ * search deepens iteratively until one of the set limits is reached and
+ * plays the move of the deepest completed search. At least one limit is
+ * always set. Instances are immutable, further limits are added by the
+ * {@code with} methods, which return new instances.
+ *
+ * Unlike the depth, the number of boards bounds the cost of a move
+ * independently of the position: the search stops exactly when the boards
+ * visited by all of its threads reach it.
+ */
+public final class SearchLimits {
+
+    // The greatest depth of the search or 0 if the depth is not limited.
+    private final int depth;
+
+    // The number of boards which may be visited or 0 if it is not limited.
+    private final long nodes;
+
+    // The time available for the move or null if the time is not limited.
+    private final Duration movetime;
+
+    /**
+     * Creates limits.
+     *
+     * @param depth    The greatest depth or 0 if the depth is not limited.
+     * @param nodes    The number of boards or 0 if it is not limited.
+     * @param movetime The time available or {@code null} if the time is not
+     *                 limited.
+     */
+    private SearchLimits(int depth, long nodes, Duration movetime) {
+        this.depth = depth;
+        this.nodes = nodes;
+        this.movetime = movetime;
+    }
+
+    /**
+     * Creates limits which only limit the depth. The search chooses the same
+     * move as a search to a fixed depth.
+     *
+     * @param depth The number of moves which are looked ahead, including the
+     *              move of the machine.
+     * @return The limits.
+     * @throws IllegalArgumentException If the depth is not positive.
+     */
+    public static SearchLimits ofDepth(int depth) {
+        return new SearchLimits(checkDepth(depth), 0, null);
+    }
+
+    /**
+     * Creates limits which only limit the number of visited boards. The
+     * search of depth one is always completed, even if it visits more.
+     *
+     * @param nodes The number of boards which may be visited.
+     * @return The limits.
+     * @throws IllegalArgumentException If the number is not positive.
+     */
+    public static SearchLimits ofNodes(long nodes) {
+        return new SearchLimits(0, checkNodes(nodes), null);
+    }
+
+    /**
+     * Creates limits which only limit the time. The search of depth one is
+     * always completed, even if it takes longer.
+     *
+     * @param movetime The time available for the move.
+     * @return The limits.
+     * @throws IllegalArgumentException If the time is not positive.
+     */
+    public static SearchLimits ofMovetime(Duration movetime) {
+        return new SearchLimits(0, 0, checkMovetime(movetime));
+    }
+
+    /**
+     * Adds a limit of the depth to these limits.
+     *
+     * @param depth The number of moves which are looked ahead, including the
+     *              move of the machine.
+     * @return The new limits.
+     * @throws IllegalArgumentException If the depth is not positive.
+     */
+    public SearchLimits withDepth(int depth) {
+        return new SearchLimits(checkDepth(depth), nodes, movetime);
+    }
+
+    /**
+     * Adds a limit of the number of visited boards to these limits.
+     *
+     * @param nodes The number of boards which may be visited.
+     * @return The new limits.
+     * @throws IllegalArgumentException If the number is not positive.
+     */
+    public SearchLimits withNodes(long nodes) {
+        return new SearchLimits(depth, checkNodes(nodes), movetime);
+    }
+
+    /**
+     * Adds a limit of the time to these limits.
+     *
+     * @param movetime The time available for the move.
+     * @return The new limits.
+     * @throws IllegalArgumentException If the time is not positive.
+     */
+    public SearchLimits withMovetime(Duration movetime) {
+        return new SearchLimits(depth, nodes, checkMovetime(movetime));
+    }
+
+    /**
+     * Makes sure that a depth is positive.
+     *
+     * @param depth The depth to check.
+     * @return The depth.
+     * @throws IllegalArgumentException If the depth is not positive.
+     */
+    private static int checkDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("The search depth must be "
+                    + "positive.");
+        }
+        return depth;
+    }
+
+    /**
+     * Makes sure that a number of boards is positive.
+     *
+     * @param nodes The number to check.
+     * @return The number.
+     * @throws IllegalArgumentException If the number is not positive.
+     */
+    private static long checkNodes(long nodes) {
+        if (nodes < 1) {
+            throw new IllegalArgumentException("The node budget must be "
+                    + "positive.");
+        }
+        return nodes;
+    }
+
+    /**
+     * Makes sure that a time is positive.
+     *
+     * @param movetime The time to check.
+     * @return The time.
+     * @throws IllegalArgumentException If the time is not positive.
+     */
+    private static Duration checkMovetime(Duration movetime) {
+        if (movetime == null || movetime.isNegative() || movetime.isZero()) {
+            throw new IllegalArgumentException("The time budget must be "
+                    + "positive.");
+        }
+        return movetime;
+    }
+
+    /**
+     * Gets the greatest depth of the search.
+     *
+     * @return The greatest depth or 0 if the depth is not limited.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the number of boards which may be visited.
+     *
+     * @return The number or 0 if it is not limited.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the time available for the move.
+     *
+     * @return The time or {@code null} if the time is not limited.
+     */
+    public Duration getMovetime() {
+        return movetime;
+    }
+
+    /**
+     * Determines whether only the depth is limited, so that the search
+     * chooses the same move as a search to a fixed depth.
+     *
+     * @return Return {@code true} if only the depth is limited. Otherwise
+     * return {@code false}.
+     */
+    public boolean isDepthOnly() {
+        return nodes == 0 && movetime == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "depth " + (depth == 0 ? "unlimited" : depth) + ", nodes "
+                + (nodes == 0 ? "unlimited" : nodes) + ", movetime "
+                + (movetime == null ? "unlimited" : movetime.toMillis()
+                + " ms");
+    }
+}
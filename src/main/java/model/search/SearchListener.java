@@ -0,0 +1,22 @@
+package model.search;
+
+/**
+ * Receives the progress of an iteratively deepening search for a machine
+ * move. It is informed on the searching thread whenever the search of a
+ * depth has been completed, so it should return quickly and must not block.
+ */
+@FunctionalInterface
+public interface SearchListener {
+
+    /**
+     * Informs about a completed depth.
+     *
+     * @param depth    The completed depth.
+     * @param score    The value of the best move from the machine's
+     *                 perspective.
+     * @param nodes    The number of boards visited by the search so far.
+     * @param bestMove The best move of the completed depth, encoded as
+     *                 described by {@code Move}.
+     */
+    void progress(int depth, double score, long nodes, int bestMove);
+}
@@ -0,0 +1,250 @@
+package model.search;
+
+import java.lang.reflect.Array;
+
+/**
+ * Statistics about the last search of an {@code AlphaBetaSearch}. They are
+ * reset at the start of every search and cover all depths of an iterative
+ * search.
+ *
+ * The retained memory of a search is the memory of the arrays the search and
+ * its workers own: the buffers for the moves of every ply, the killer moves
+ * and the history scores. As the game tree is walked depth-first and never
+ * stored, it only grows with the depth of the search and not with the number
+ * of boards in the tree. The shared transposition table is not included.
+ * Sizes are measured from the lengths of the arrays for a virtual machine
+ * with 16 bytes of array header, compressed references and objects aligned
+ * to 8 bytes.
+ *
+ * The share of cutoffs caused by the first searched move of a board measures
+ * the quality of the move ordering. The better the ordering, the fewer boards
+ * are visited for the same result.
+ */
+public class SearchStatistics {
+
+    // The size of the header of an array, including its length.
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    // The size of a compressed reference.
+    private static final int REFERENCE_BYTES = 4;
+
+    // The alignment of objects in memory.
+    private static final int ALIGNMENT = 8;
+
+    // The number of boards visited, including the root.
+    private long nodes;
+
+    // The greatest number of moves made since the root.
+    private int maxPly;
+
+    // The depth of the deepest search which has been completed.
+    private int depth;
+
+    // The number of boards whose search has been cut off.
+    private long cutoffs;
+
+    // The number of cutoffs caused by the first searched move.
+    private long firstMoveCutoffs;
+
+    // The memory retained by the search in bytes.
+    private long peakMemory;
+
+    /**
+     * Resets the statistics before a new search.
+     */
+    void reset() {
+        nodes = 0;
+        maxPly = 0;
+        depth = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        peakMemory = 0;
+    }
+
+    /**
+     * Records that the search of a depth has been completed.
+     *
+     * @param depth The depth of the completed search.
+     */
+    void complete(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Records that a board has been visited.
+     *
+     * @param ply The number of moves made since the root.
+     */
+    void visit(int ply) {
+        nodes++;
+        if (ply > maxPly) {
+            maxPly = ply;
+        }
+    }
+
+    /**
+     * Adds the statistics of a search of a part of the tree, e.g., by another
+     * thread.
+     *
+     * @param other The statistics of the search of the part.
+     */
+    void add(SearchStatistics other) {
+        nodes += other.nodes;
+        maxPly = Math.max(maxPly, other.maxPly);
+        cutoffs += other.cutoffs;
+        firstMoveCutoffs += other.firstMoveCutoffs;
+        peakMemory += other.peakMemory;
+    }
+
+    /**
+     * Records the memory retained by the search, measured once it is done.
+     *
+     * @param bytes The retained memory in bytes.
+     */
+    void setPeakMemory(long bytes) {
+        peakMemory = bytes;
+    }
+
+    /**
+     * Measures the memory of an array and of the arrays it holds.
+     *
+     * @param array The array, which may be nested.
+     * @return The size of the arrays in bytes.
+     */
+    static long sizeOf(Object array) {
+        Class<?> type = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        long bytes = align(ARRAY_HEADER_BYTES
+                + (long) length * elementBytes(type));
+        if (type.isArray()) {
+            for (int i = 0; i < length; i++) {
+                Object element = Array.get(array, i);
+                if (element != null) {
+                    bytes += sizeOf(element);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Determines the size of an element of an array.
+     *
+     * @param type The type of the elements.
+     * @return The size of an element in bytes.
+     */
+    private static int elementBytes(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return Long.BYTES;
+        } else if (type == int.class || type == float.class) {
+            return Integer.BYTES;
+        } else if (type == short.class || type == char.class) {
+            return Short.BYTES;
+        } else if (type == byte.class || type == boolean.class) {
+            return Byte.BYTES;
+        } else {
+            return REFERENCE_BYTES;
+        }
+    }
+
+    /**
+     * Rounds a size up to the alignment of objects.
+     *
+     * @param bytes The size in bytes.
+     * @return The aligned size in bytes.
+     */
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Records that the search of a board has been cut off.
+     *
+     * @param firstMove Whether the first searched move caused the cutoff.
+     */
+    void cutoff(boolean firstMove) {
+        cutoffs++;
+        if (firstMove) {
+            firstMoveCutoffs++;
+        }
+    }
+
+    /**
+     * Gets the number of boards which have been visited, including the root.
+     *
+     * @return The number of visited boards.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the depth of the deepest search which has been completed. When
+     * searching iteratively within a time budget, this is the depth of the
+     * search whose move has been chosen.
+     *
+     * @return The completed depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the greatest number of moves made since the root.
+     *
+     * @return The maximum ply reached.
+     */
+    public int getMaxPly() {
+        return maxPly;
+    }
+
+    /**
+     * Gets the number of boards whose search has been cut off because the
+     * opponent will avoid them.
+     *
+     * @return The number of cutoffs.
+     */
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * Gets the number of cutoffs caused by the first searched move.
+     *
+     * @return The number of first move cutoffs.
+     */
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    /**
+     * Gets the share of cutoffs caused by the first searched move.
+     *
+     * @return The first move cutoff rate between 0 and 1, or 0 if there has
+     * been no cutoff.
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * Gets the peak of the memory retained by the search, i.e., the size of
+     * the arrays owned by the search and its workers once it is done. The
+     * memory of the helpers of a parallel search is added.
+     *
+     * @return The peak retained memory in bytes.
+     */
+    public long getPeakMemory() {
+        return peakMemory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "depth " + depth + ", nodes " + nodes + ", max ply " + maxPly
+                + ", first move cutoffs " + firstMoveCutoffs + " of " + cutoffs
+                + ", peak memory " + getPeakMemory() + " bytes";
+    }
+}
@@ -0,0 +1,275 @@
+package model.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table which stores the results of searched boards by their
+ * position key, so that a board reached again by another order of moves does
+ * not have to be searched again. The table is packed into a single array of
+ * {@code long} values and allocates nothing after its construction.
+ *
+ * The table is divided into buckets of two entries. The first entry of a
+ * bucket keeps the result of the highest search, unless it stems from an
+ * earlier search. The second entry always takes the most recent result which
+ * is not kept by the first one.
+ *
+ * Several searches may use the same table concurrently without any locks.
+ * Each entry stores its key xored with its data. An entry whose data was
+ * partly overwritten by another thread while being read no longer matches
+ * its key and is treated as missing.
+ */
+public class TranspositionTable {
+
+    /**
+     * The value of an entry is the exact value of the board.
+     */
+    static final int EXACT = 0;
+
+    /**
+     * The value of an entry is a lower bound of the value of the board.
+     */
+    static final int LOWER_BOUND = 1;
+
+    /**
+     * The value of an entry is an upper bound of the value of the board.
+     */
+    static final int UPPER_BOUND = 2;
+
+    // The number of longs of an entry: the checked key, the value and the
+    // remaining data.
+    private static final int ENTRY_LONGS = 3;
+
+    // The number of entries of a bucket.
+    private static final int BUCKET_ENTRIES = 2;
+
+    // The number of longs of a bucket.
+    private static final int BUCKET_LONGS = ENTRY_LONGS * BUCKET_ENTRIES;
+
+    // The position of the height of the board (8 bits) within the data of an
+    // entry. The lowest 16 bits of the data hold the best move.
+    private static final int HEIGHT_SHIFT = 16;
+
+    // The position of the kind of bound (2 bits) within the data.
+    private static final int BOUND_SHIFT = 24;
+
+    // The position of the generation (16 bits) within the data.
+    private static final int GENERATION_SHIFT = 32;
+
+    // The flag of the data of a used entry.
+    private static final long USED = 1L << 48;
+
+    // The buckets, each taking BUCKET_LONGS consecutive longs.
+    private final long[] entries;
+
+    // A mask selecting the index of a bucket from a key.
+    private final int bucketMask;
+
+    // The number of the current search, stored with the entries to prefer
+    // results of the current search.
+    private volatile int generation;
+
+    // The number of lookups which found the position.
+    private final LongAdder hits = new LongAdder();
+
+    // The number of lookups which did not find the position.
+    private final LongAdder misses = new LongAdder();
+
+    // The number of results which replaced the result of another position.
+    private final LongAdder overwrites = new LongAdder();
+
+    /**
+     * Creates an empty transposition table.
+     *
+     * @param megabytes The size of the table in megabytes. The number of
+     *                  buckets is rounded down to a power of two.
+     * @throws IllegalArgumentException If the size is not positive or too
+     *                                  large.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 8192) {
+            throw new IllegalArgumentException("The size of the table must "
+                    + "lie between 1 and 8192 megabytes.");
+        }
+
+        long buckets = Long.highestOneBit(((long) megabytes << 20)
+                / (BUCKET_LONGS * Long.BYTES));
+        buckets = Math.min(buckets,
+                Integer.highestOneBit(Integer.MAX_VALUE / BUCKET_LONGS));
+        entries = new long[(int) buckets * BUCKET_LONGS];
+        bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Marks the start of a new search. Results of earlier searches remain
+     * usable but are replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFFFF;
+    }
+
+    /**
+     * Removes all results and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(entries, 0);
+        hits.reset();
+        misses.reset();
+        overwrites.reset();
+    }
+
+    /**
+     * Looks up the result of a position.
+     *
+     * @param key   The position key of the board.
+     * @param entry The entry which is filled with the stored result.
+     * @return Return {@code true} if a result has been found. Otherwise
+     * return {@code false} and leave the entry unchanged.
+     */
+    boolean probe(long key, Entry entry) {
+        int bucket = bucket(key);
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            long checkedKey = entries[i];
+            long value = entries[i + 1];
+            long data = entries[i + 2];
+            if ((checkedKey ^ value ^ data) == key && (data & USED) != 0) {
+                entry.move = (int) (data & 0xFFFF);
+                entry.height = (int) (data >>> HEIGHT_SHIFT & 0xFF);
+                entry.bound = (int) (data >>> BOUND_SHIFT & 0x3);
+                entry.value = Double.longBitsToDouble(value);
+                hits.increment();
+                return true;
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Stores the result of a position.
+     *
+     * @param key    The position key of the board.
+     * @param height The height of the board in the searched tree.
+     * @param bound  Whether the value is exact or a bound, one of {@link
+     *               #EXACT}, {@link #LOWER_BOUND} and {@link #UPPER_BOUND}.
+     * @param value  The value of the board.
+     * @param move   The best move of the board or {@code Move.NONE}.
+     */
+    void store(long key, int height, int bound, double value, int move) {
+        assert height >= 0 && height <= 0xFF && move >= 0 && move <= 0xFFFF;
+
+        int generation = this.generation;
+        int first = bucket(key);
+        int second = first + ENTRY_LONGS;
+        long firstData = entries[first + 2];
+
+        // A result of the same position is updated. Otherwise the first entry
+        // takes the result if it is at least as high as the one stored there
+        // or the stored one belongs to an earlier search.
+        int target;
+        if (matches(first, key)) {
+            target = first;
+        } else if (matches(second, key)) {
+            target = second;
+        } else if ((firstData & USED) == 0
+                || (int) (firstData >>> GENERATION_SHIFT & 0xFFFF)
+                != generation
+                || height >= (int) (firstData >>> HEIGHT_SHIFT & 0xFF)) {
+            target = first;
+        } else {
+            target = second;
+        }
+
+        if ((entries[target + 2] & USED) != 0 && !matches(target, key)) {
+            overwrites.increment();
+        }
+
+        long data = move | (long) height << HEIGHT_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) generation << GENERATION_SHIFT | USED;
+        long bits = Double.doubleToRawLongBits(value);
+        entries[target] = key ^ bits ^ data;
+        entries[target + 1] = bits;
+        entries[target + 2] = data;
+    }
+
+    /**
+     * Determines whether an entry holds a result of a position.
+     *
+     * @param index The index of the entry's first long.
+     * @param key   The position key.
+     * @return Return {@code true} if the entry belongs to the position.
+     * Otherwise return {@code false}.
+     */
+    private boolean matches(int index, long key) {
+        long data = entries[index + 2];
+        return (data & USED) != 0
+                && (entries[index] ^ entries[index + 1] ^ data) == key;
+    }
+
+    /**
+     * Determines the index of the first long of the bucket of a key.
+     *
+     * @param key The position key.
+     * @return The index of the bucket.
+     */
+    private int bucket(long key) {
+        return ((int) key & bucketMask) * BUCKET_LONGS;
+    }
+
+    /**
+     * Gets the number of entries the table can hold.
+     *
+     * @return The capacity of the table.
+     */
+    public int getCapacity() {
+        return entries.length / ENTRY_LONGS;
+    }
+
+    /**
+     * Gets the number of lookups which found the position.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups which did not find the position.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of results which replaced the result of another
+     * position.
+     *
+     * @return The number of overwrites.
+     */
+    public long getOverwrites() {
+        return overwrites.sum();
+    }
+
+    /**
+     * A result read from the table. It is filled by {@link #probe(long,
+     * Entry)}, so that a search can reuse a single instance.
+     */
+    static final class Entry {
+
+        // The best move or Move.NONE.
+        int move;
+
+        // The height of the board when its value was determined.
+        int height;
+
+        // Whether the value is exact or a bound.
+        int bound;
+
+        // The value of the board.
+        double value;
+    }
+}
@@ -1,7 +1,10 @@
 package view;
 
 import model.chessboard.Board;
+import model.chessboard.Move;
 import model.player.Player;
+import model.search.AnalyzedMove;
+import model.search.SearchLimits;
 
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
@@ -14,8 +17,13 @@ import java.awt.GridLayout;
 import java.awt.Dimension;
 
 import java.io.Serial;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * This is the Panel on which the chessboard is being displayed. It contains the
@@ -46,76 +54,103 @@ public class ChessBoardPanel extends JPanel {
     private final List<ChessSlotPanel> moveParams = new ArrayList<>();
 
     /**
-     * On this thread the machine move is calculated.
+     * The threads on which the machine moves are calculated. They are daemon
+     * threads, so that a search does not keep the application alive.
      */
-    private MachineMoveThread machineMoveThread = new MachineMoveThread();
+    private static final ExecutorService MACHINE_MOVE_EXECUTOR =
+            Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "Machine move");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     /**
-     * A thread with the sole purpose of calculating a machine move.
+     * The time after which a suggested move is shown to the human.
      */
-    private class MachineMoveThread extends Thread {
-
-        /**
-         * Calculates a machine move and inform the player if the game is over.
-         * Automatically makes a move whenever the human cannot. The
-         * resulting move is stored in {@code gameBoard} and the {@code
-         * chessBoardPanel} will be repainted if successful.
-         */
-        @Override
-        public void run() {
-
-            // Disable the humans possibility to move while the machine has not
-            // yet  moved.
-            setEnabledOnChessBoardPanels(false);
-            gameBoard = gameBoard.machineMove();
-
-            if (gameBoard.isGameOver()) {
-                SwingUtilities
-                        .invokeLater(ChessBoardPanel.this::announceWinner);
-            } else {
-                GUI frame = ((GUI) ChessBoardPanel.this.getTopLevelAncestor());
+    private static final Duration HINT_LATENCY = Duration.ofSeconds(1);
 
-                // Update the components about the changes made by the
-                // move. The painting is handled by the event queue.
-                frame.updateGameBoard(gameBoard);
-                frame.updateAndPaintAmountOfPawns();
+    /**
+     * The pending hint or {@code null} if no move is being suggested. It is
+     * only read and written on the event dispatch thread.
+     */
+    private CompletableFuture<AnalyzedMove> hint;
 
-                // Let the event queue handle the repaint.
-                SwingUtilities.invokeLater(ChessBoardPanel.this::updateSlots);
+    /**
+     * The pending machine move or {@code null} if the machine does not
+     * move. It is only read and written on the event dispatch thread, which
+     * also executes the move, so a cancelled move never changes the game.
+     */
+    private CompletableFuture<Board> machineMove;
 
-                // Move again if the human cannot move. This seems
-                // to be not functional due to a flaw in the model.
-                if (gameBoard.getNextPlayer() == Player.MACHINE) {
+    /**
+     * Starts calculating a machine move in the background. The event
+     * dispatch thread executes the move once it has been found, unless it has
+     * been cancelled meanwhile. The humans possibility to move is disabled
+     * until then. If the search fails, the human is informed and may move
+     * again.
+     */
+    private void startMachineMove() {
+        setEnabledOnChessBoardPanels(false);
+        CompletableFuture<Board> future = gameBoard.machineMoveAsync(
+                SearchLimits.ofDepth(Player.MACHINE.getLevel()),
+                MACHINE_MOVE_EXECUTOR, null);
+        machineMove = future;
+        future.whenCompleteAsync((newBoard, exception) -> {
+            if (machineMove != future) {
+                return;
+            }
+            machineMove = null;
+            if (exception != null) {
+                Throwable cause = exception instanceof CompletionException
+                        ? exception.getCause() : exception;
+                setEnabledOnChessBoardPanels(true);
+                JOptionPane.showMessageDialog(null,
+                        "The machine could not move: " + cause.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                executeMachineMove(newBoard);
+            }
+        }, SwingUtilities::invokeLater);
+    }
 
-                    // Stop the thread
-                    haltMachineMoveThread();
+    /**
+     * Executes the calculated machine move and informs the player if the game
+     * is over. Automatically makes a move whenever the human cannot. The
+     * resulting move is stored in {@code gameBoard} and the {@code
+     * chessBoardPanel} will be repainted.
+     *
+     * @param newBoard The board with the machine move executed.
+     */
+    private void executeMachineMove(Board newBoard) {
+        gameBoard = newBoard;
 
-                    // Inform the player, then move again.
-                    JOptionPane.showMessageDialog(null,
-                            "You have to skip a move. "
-                                    + "Machine will move again.");
-                    MachineMoveThread extraMove = new MachineMoveThread();
-                    extraMove.start();
-                }
+        if (gameBoard.isGameOver()) {
+            announceWinner();
+        } else {
+            GUI frame = ((GUI) this.getTopLevelAncestor());
+
+            // Update the components about the changes made by the move, then
+            // repaint.
+            frame.updateGameBoard(gameBoard);
+            frame.updateAndPaintAmountOfPawns();
+            updateSlots();
+
+            // Move again if the human cannot move. This seems to be not
+            // functional due to a flaw in the model.
+            if (gameBoard.getNextPlayer() == Player.MACHINE) {
+
+                // Inform the player, then move again.
+                JOptionPane.showMessageDialog(null,
+                        "You have to skip a move. Machine will move again.");
+                startMachineMove();
+            } else {
 
                 // Re-enable the humans possibility to move.
                 setEnabledOnChessBoardPanels(true);
             }
         }
-
-        /**
-         * Stops the running thread and sets it to null.
-         */
-        @SuppressWarnings("deprecation")
-        private void stopThread() {
-            if (machineMoveThread != null) {
-                machineMoveThread.stop();
-            }
-            machineMoveThread = null;
-        }
     }
 
-
     /**
      * Creates the chessboard and its indices. It is a grid-layout containing
      * a panel for each slot on the chessboard. The outer perimeter contains
@@ -299,8 +334,7 @@ public class ChessBoardPanel extends JPanel {
                             } else {
 
                                 // Let the machine perform its move.
-                                machineMoveThread = new MachineMoveThread();
-                                machineMoveThread.start();
+                                startMachineMove();
                             }
                         }
                     }
@@ -339,9 +373,11 @@ public class ChessBoardPanel extends JPanel {
         // Re-enable the buttons.
         setEnabledOnChessBoardPanels(true);
 
-        // Kill the machine move.
-        if (machineMoveThread.isAlive()) {
+        // Stop the machine move and its pondering.
+        if (machineMove != null) {
             haltMachineMoveThread();
+        } else {
+            gameBoard.getEngineConfig().stopPondering();
         }
     }
 
@@ -387,16 +423,59 @@ public class ChessBoardPanel extends JPanel {
     }
 
     /**
-     * Stops the currently running thread which calculates the machine move.
+     * Cancels the pending machine move, including a move which has been found
+     * but not yet executed, a pending hint and the pondering of the machine.
+     * Does not wait for the searches, as they stop on their own within a few
+     * milliseconds.
      */
     public void haltMachineMoveThread() {
-        if (machineMoveThread.isAlive()) {
-            machineMoveThread.stopThread();
-            machineMoveThread = new MachineMoveThread();
+        if (machineMove != null) {
+            machineMove.cancel(true);
+            machineMove = null;
+        }
+        if (hint != null) {
+            hint.cancel(true);
+            hint = null;
+        }
+        gameBoard.getEngineConfig().stopPondering();
 
-            // Re-enable the humans possibility to move.
-            setEnabledOnChessBoardPanels(true);
+        // Re-enable the humans possibility to move.
+        setEnabledOnChessBoardPanels(true);
+    }
+
+    /**
+     * Suggests a move to the human in a dialog, together with the moves both
+     * players are expected to make after it. The move is searched in the
+     * background for {@code HINT_LATENCY}, so that the board stays usable.
+     * The suggestion is dropped if the game has changed meanwhile.
+     */
+    public void showHint() {
+        if (hint != null || machineMove != null || gameBoard.isGameOver()
+                || gameBoard.getNextPlayer() != Player.HUMAN) {
+            Toolkit.getDefaultToolkit().beep();
+            return;
         }
+        Board board = gameBoard;
+        CompletableFuture<AnalyzedMove> future = board.hintAsync(HINT_LATENCY,
+                MACHINE_MOVE_EXECUTOR);
+        hint = future;
+        future.whenCompleteAsync((suggestion, exception) -> {
+            if (hint != future) {
+                return;
+            }
+            hint = null;
+            if (exception != null || gameBoard != board) {
+                Toolkit.getDefaultToolkit().beep();
+            } else {
+                StringBuilder line = new StringBuilder();
+                for (int move : suggestion.getVariation()) {
+                    line.append("\n").append(Move.toString(move));
+                }
+                JOptionPane.showMessageDialog(null, "Suggested move: "
+                        + Move.toString(suggestion.getMove())
+                        + "\n\nExpected line:" + line);
+            }
+        }, SwingUtilities::invokeLater);
     }
 
     /**
@@ -408,15 +487,14 @@ public class ChessBoardPanel extends JPanel {
     }
 
     /**
-     * Creates a thread which will calculate and attempt to execute a machine
-     * move.
+     * Starts calculating a machine move in the background and executes it
+     * once it has been found.
      */
     public void makeMachineMove() {
         if (gameBoard.isGameOver()) {
             throw new IllegalStateException("This game is over.");
         } else {
-            machineMoveThread = new MachineMoveThread();
-            machineMoveThread.start();
+            startMachineMove();
         }
     }
 
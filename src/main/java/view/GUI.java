@@ -1,9 +1,10 @@
 package view;
 
+import model.chessboard.BitBoard;
 import model.chessboard.Board;
-import model.chessboard.ChessBoard;
 import model.chessboard.Color;
 import model.player.Player;
+import model.search.EngineConfig;
 
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
@@ -49,6 +50,12 @@ public class GUI extends JFrame {
      */
     private static int defaultDifficulty = 3;
 
+    /**
+     * This is the highest difficulty level which can be selected in the
+     * levels combobox.
+     */
+    private static final int MAX_DIFFICULTY = 10;
+
     /**
      * This is the default color of the human player. Can be changed by the
      * user by pressing the switch button.
@@ -58,8 +65,7 @@ public class GUI extends JFrame {
     /**
      * This is the {@code Board} on which the current game is being played.
      */
-    private Board gameBoard
-            = new ChessBoard(defaultDifficulty, defaultHumanColor);
+    private Board gameBoard = createGameBoard();
 
     /**
      * This is the Panel on which the chessboard is being displayed.
@@ -91,7 +97,7 @@ public class GUI extends JFrame {
                 (int) (this.getSize().height * 0.6)));
         this.setVisible(true);
 
-        // Make sure the thread calculating the machine move is killed after
+        // Make sure the thread calculating the machine move is stopped after
         // the window was closed.
         this.addWindowListener(new WindowAdapter() {
             @Override
@@ -244,6 +250,7 @@ public class GUI extends JFrame {
 
             initLevelsBox();
             initUndoButton();
+            initHintButton();
             initNewButton();
             initSwitchButton();
             initQuitButton();
@@ -285,7 +292,10 @@ public class GUI extends JFrame {
          */
         private void initLevelsBox() {
             this.add(new JLabel("Level:"));
-            String[] levels = {"1", "2", "3", "4"};
+            String[] levels = new String[MAX_DIFFICULTY];
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = String.valueOf(i + 1);
+            }
             JComboBox<String> levelMenu = new JComboBox<>(levels);
             levelMenu.setSelectedIndex(defaultDifficulty - 1);
             gameBoard.setLevel(Integer.parseInt((String) Objects
@@ -303,6 +313,18 @@ public class GUI extends JFrame {
             this.add(levelMenu);
         }
 
+        /**
+         * Add a button which suggests a move to the human.
+         */
+        private void initHintButton() {
+            JButton hintButton = new JButton("Hint");
+            hintButton.setMnemonic('H');
+            hintButton.addActionListener(e -> chessBoardPanel.showHint());
+            hintButton.setToolTipText("Suggest a move and show the line "
+                    + "expected after it.");
+            this.add(hintButton);
+        }
+
         /**
          * Add a button to allow the creation of a new game.
          */
@@ -382,7 +404,7 @@ public class GUI extends JFrame {
          */
         private void constructNewBoard() {
 
-            // Kill the current thread as its results will not be needed.
+            // Stop the current thread as its results will not be needed.
             chessBoardPanel.haltMachineMoveThread();
 
             // Reset the classes attributes.
@@ -391,7 +413,7 @@ public class GUI extends JFrame {
             chessBoardPanel.setEnabledOnChessBoardPanels(true);
             whitePawnsNumber.setText(String.valueOf(Board.SIZE));
             blackPawnsNumber.setText(String.valueOf(Board.SIZE));
-            gameBoard = new ChessBoard(defaultDifficulty, defaultHumanColor);
+            gameBoard = createGameBoard();
             chessBoardPanel.updateGameBoard(gameBoard);
             chessBoardPanel.updateSlots();
             undoButton.setEnabled(false);
@@ -475,6 +497,19 @@ public class GUI extends JFrame {
         SwingUtilities.invokeLater(GUI::new);
     }
 
+    /**
+     * Creates the board of a new game with the pawns in their initial
+     * positions, the default difficulty and the default color of the human.
+     * The machine of the game searches on the human's time.
+     *
+     * @return The board of the new game.
+     */
+    private static Board createGameBoard() {
+        EngineConfig config = new EngineConfig();
+        config.setPondering(true);
+        return new BitBoard(defaultDifficulty, defaultHumanColor, config);
+    }
+
     /**
      * Pushes a board on the undo-stack.
      *
@@ -1,10 +1,37 @@
+import model.chessboard.BitBoard;
 import model.chessboard.Board;
 import model.chessboard.ChessBoard;
 import model.chessboard.Color;
+import model.chessboard.Move;
 import model.chessboard.Pawn;
+import model.exceptions.IllegalMoveException;
 import model.player.Player;
+import model.search.AlphaBetaSearch;
+import model.search.AnalyzedMove;
+import model.search.LazySmpSearch;
+import model.search.MonteCarloSearch;
+import model.search.Outcome;
+import model.search.Ponderer;
+import model.search.ProofNumberSearch;
+import model.search.SearchEngine;
+import model.search.SearchLimits;
+import model.search.SearchStatistics;
+import model.search.TranspositionTable;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 public class TestClass {
 
 /*
@@ -903,5 +930,777 @@ public class TestClass {
         Board newBoard = new ChessBoard(2,Color.WHITE);
         System.out.println(newBoard);
     }
-}
 
+    @Test
+    public void bitBoardTest() {
+        Board chessBoard = new ChessBoard(1, Color.WHITE);
+        Board bitBoard = new BitBoard(1, Color.WHITE);
+
+        assert (chessBoard.toString().equals(bitBoard.toString()));
+
+        // Play the same human moves on both boards.
+        int[][] moves = {{1, 1, 1, 3}, {2, 1, 2, 2}, {4, 1, 4, 3}};
+        for (int[] move : moves) {
+            chessBoard = chessBoard.move(move[0], move[1], move[2], move[3]);
+            bitBoard = bitBoard.move(move[0], move[1], move[2], move[3]);
+
+            assert (chessBoard != null && bitBoard != null);
+            assert (chessBoard.toString().equals(bitBoard.toString()));
+            assert (chessBoard.getNextPlayer() == bitBoard.getNextPlayer());
+
+            chessBoard = chessBoard.machineMove();
+            bitBoard = bitBoard.machineMove();
+
+            assert (chessBoard.toString().equals(bitBoard.toString()));
+            assert (chessBoard.isGameOver() == bitBoard.isGameOver());
+            assert (chessBoard.getNumberOfTiles(Player.HUMAN)
+                    == bitBoard.getNumberOfTiles(Player.HUMAN));
+        }
+
+        // An illegal double move and a move of a hostile pawn are rejected.
+        assert (bitBoard.move(1, 3, 1, 5) == null);
+        assert (bitBoard.move(1, 8, 1, 7) == null);
+    }
+
+    @Test
+    public void makeUnmakeMoveTest() {
+        BitBoard board = new BitBoard(2, Color.WHITE);
+        String initial = board.toString();
+
+        int[] moves = {Move.create(2, 1, 2, 3),
+                Move.create(3, 8, 3, 6),
+                Move.create(2, 3, 2, 4),
+                Move.create(3, 6, 3, 5),
+                Move.create(2, 4, 3, 5)};
+        int[] undoInfos = new int[moves.length];
+
+        for (int i = 0; i < moves.length; i++) {
+            undoInfos[i] = board.makeMove(moves[i]);
+        }
+
+        // The last move attacked a black pawn.
+        assert (board.getSlot(3, 5) == Color.WHITE);
+        assert (board.getNumberOfTiles(Player.MACHINE) == Board.SIZE - 1);
+        assert (board.getNextPlayer() == Player.MACHINE);
+
+        for (int i = moves.length - 1; i >= 0; i--) {
+            board.unmakeMove(moves[i], undoInfos[i]);
+        }
+
+        assert (board.toString().equals(initial));
+        assert (board.getNextPlayer() == Player.HUMAN);
+
+        // The pawns are unmoved again, so the double move is still legal.
+        assert (board.move(2, 1, 2, 3) != null);
+    }
+
+    @Test
+    public void generateMovesTest() {
+        BitBoard board = new BitBoard(2, Color.WHITE);
+        int[] moves = new int[Move.MAX_MOVES];
+
+        // Every pawn can move one or two slots ahead.
+        int count = board.generateMoves(moves);
+        assert (count == 2 * Board.SIZE);
+        assert (Move.getColFrom(moves[0]) == 1 && Move.getRowTo(moves[0]) == 2);
+        assert (Move.isDoubleStep(moves[1]) && !Move.isCapture(moves[1]));
+
+        board.makeMove(Move.create(2, 1, 2, 3));
+        board.makeMove(Move.create(3, 8, 3, 6));
+        board.makeMove(Move.create(2, 3, 2, 4));
+        board.makeMove(Move.create(3, 6, 3, 5));
+
+        // The pawn in column 2 can move ahead or attack the black pawn.
+        count = board.generateMoves(moves);
+        int captures = 0;
+        for (int i = 0; i < count; i++) {
+            if (Move.isCapture(moves[i])) {
+                captures++;
+                assert (Move.toString(moves[i]).equals("(2, 4) -> (3, 5)"));
+            }
+        }
+        assert (captures == 1);
+    }
+
+    @Test
+    public void positionKeyTest() {
+        BitBoard board = new BitBoard(2, Color.WHITE);
+        BitBoard transposed = (BitBoard) board.clone();
+
+        board.makeMove(Move.create(1, 1, 1, 2));
+        board.makeMove(Move.create(1, 8, 1, 7));
+        board.makeMove(Move.create(2, 1, 2, 2));
+
+        transposed.makeMove(Move.create(2, 1, 2, 2));
+        transposed.makeMove(Move.create(1, 8, 1, 7));
+        transposed.makeMove(Move.create(1, 1, 1, 2));
+
+        // Both move orders lead to the same position.
+        assert (board.equals(transposed));
+        assert (board.getPositionKey() == transposed.getPositionKey());
+        assert (board.hashCode() == transposed.hashCode());
+
+        // Taking back a move restores the key.
+        int undoInfo = transposed.makeMove(Move.create(2, 8, 2, 7));
+        assert (!board.equals(transposed));
+        assert (board.getPositionKey() != transposed.getPositionKey());
+        transposed.unmakeMove(Move.create(2, 8, 2, 7), undoInfo);
+        assert (board.getPositionKey() == transposed.getPositionKey());
+    }
+
+    @Test
+    public void alphaBetaSearchTest() {
+        BitBoard board = new BitBoard(4, Color.BLACK);
+        board.makeMove(Move.create(4, 8, 4, 6));
+        board.makeMove(Move.create(5, 1, 5, 3));
+        board.makeMove(Move.create(4, 6, 4, 5));
+        board.makeMove(Move.create(5, 3, 5, 4));
+
+        // The pruned search chooses the first move of the complete min-max.
+        for (int depth = 1; depth <= 4; depth++) {
+            assert (new AlphaBetaSearch(board).findBestMove(depth)
+                    == minMaxMove(board, depth));
+        }
+    }
+
+    @Test
+    public void searchStatisticsTest() {
+        BitBoard board = new BitBoard(4, Color.BLACK);
+        com.sun.management.ThreadMXBean threads
+                = (com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        AlphaBetaSearch search = new AlphaBetaSearch(board);
+
+        search.findBestMove(4);
+        allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+        long nodes = search.getStatistics().getNodes();
+        long memory = search.getStatistics().getPeakMemory();
+        int maxPly = search.getStatistics().getMaxPly();
+
+        // Quiescence search goes beyond the depth by at most one move per
+        // pawn.
+        assert (maxPly >= 4 && maxPly <= 4 + 2 * Board.SIZE);
+
+        // The retained memory includes the history scores of 64 by 64 moves
+        // for both players, and all of it has been allocated by the search.
+        assert (memory > 2 * 64 * 64 * Long.BYTES);
+        assert (memory <= allocated);
+
+        // Twice the depth visits far more boards, but the retained memory
+        // grows only by the buffers of the additional plies.
+        search.findBestMove(8);
+        assert (search.getStatistics().getMaxPly() >= 8);
+        assert (search.getStatistics().getNodes() > 10 * nodes);
+        long grown = search.getStatistics().getPeakMemory() - memory;
+        assert (grown > 0 && grown < memory);
+    }
+
+    @Test
+    public void moveOrderingTest() {
+        BitBoard board = new BitBoard(4, Color.BLACK);
+        board.makeMove(Move.create(4, 8, 4, 6));
+        board.makeMove(Move.create(5, 1, 5, 3));
+        AlphaBetaSearch ordered = new AlphaBetaSearch(board,
+                new TranspositionTable(1));
+        AlphaBetaSearch unordered = new AlphaBetaSearch(board);
+        unordered.setMoveOrdering(false);
+
+        // Ordering chooses the same move, but most cutoffs are caused by the
+        // first move and far fewer boards are visited.
+        assert (ordered.findBestMove(6) == unordered.findBestMove(6));
+        SearchStatistics statistics = ordered.getStatistics();
+        assert (statistics.getCutoffs() > 0);
+        assert (statistics.getFirstMoveCutoffRate() > 0.9);
+        assert (statistics.getFirstMoveCutoffRate()
+                > unordered.getStatistics().getFirstMoveCutoffRate());
+        assert (2 * statistics.getNodes()
+                < unordered.getStatistics().getNodes());
+    }
+
+    @Test
+    public void principalVariationSearchTest() {
+        int[][][] suite = {
+                {{4, 8, 4, 7}, {1, 1, 1, 3}, {8, 8, 8, 6}, {3, 1, 3, 3},
+                        {2, 8, 2, 7}, {5, 1, 5, 3}, {3, 8, 3, 7},
+                        {8, 1, 8, 3}},
+                {{3, 8, 3, 7}, {3, 1, 3, 3}, {7, 8, 7, 7}, {4, 1, 4, 2},
+                        {5, 8, 5, 6}, {8, 1, 8, 2}, {4, 8, 4, 7},
+                        {6, 1, 6, 3}, {3, 7, 3, 6}, {7, 1, 7, 3}},
+                {{3, 8, 3, 6}, {8, 1, 8, 2}, {6, 8, 6, 6}, {7, 1, 7, 3}},
+                {{4, 8, 4, 7}, {2, 1, 2, 2}, {2, 8, 2, 6}, {6, 1, 6, 2}}};
+
+        // Null windows and aspiration windows keep the move of the complete
+        // min-max on every stored position.
+        for (int[][] moves : suite) {
+            BitBoard board = new BitBoard(1, Color.BLACK);
+            for (int[] move : moves) {
+                board.makeMove(Move.create(move[0], move[1], move[2],
+                        move[3]));
+            }
+            AlphaBetaSearch search = new AlphaBetaSearch(board,
+                    new TranspositionTable(1));
+            for (int depth = 1; depth <= 4; depth++) {
+                assert (search.findBestMove(depth)
+                        == minMaxMove(board, depth));
+            }
+
+            int move = search.findBestMove(Duration.ofMillis(50));
+            int depth = search.getStatistics().getDepth();
+            assert (move == new AlphaBetaSearch(board).findBestMove(depth));
+        }
+    }
+
+    @Test
+    public void parallelSearchTest() {
+        BitBoard board = new BitBoard(1, Color.BLACK);
+        board.makeMove(Move.create(4, 8, 4, 6));
+        board.makeMove(Move.create(5, 1, 5, 3));
+        board.makeMove(Move.create(3, 8, 3, 7));
+        board.makeMove(Move.create(5, 3, 5, 4));
+
+        // The move is the same whatever the number of threads.
+        for (int threads = 1; threads <= 4; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (int depth = 1; depth <= 6; depth++) {
+                AlphaBetaSearch search = new AlphaBetaSearch(board,
+                        new TranspositionTable(1), pool);
+                assert (search.findBestMove(depth)
+                        == new AlphaBetaSearch(board).findBestMove(depth));
+            }
+
+            // Stopping the tasks at the deadline keeps the completed depth.
+            AlphaBetaSearch search = new AlphaBetaSearch(board,
+                    new TranspositionTable(1), pool);
+            int move = search.findBestMove(Duration.ofMillis(50));
+            int depth = search.getStatistics().getDepth();
+            assert (move == new AlphaBetaSearch(board).findBestMove(depth));
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void lazySmpSearchTest() {
+        BitBoard board = new BitBoard(1, Color.BLACK);
+        board.makeMove(Move.create(4, 8, 4, 6));
+        board.makeMove(Move.create(5, 1, 5, 3));
+        TranspositionTable table = new TranspositionTable(1);
+
+        // The helpers only share results, so the move of the main search is
+        // the same as the one of a single thread.
+        for (int depth = 1; depth <= 6; depth++) {
+            LazySmpSearch search = new LazySmpSearch(board, table, null, 4);
+            assert (search.findBestMove(depth)
+                    == new AlphaBetaSearch(board).findBestMove(depth));
+            assert (search.getStatistics().getDepth() == depth);
+        }
+
+        LazySmpSearch search = new LazySmpSearch(board, table, null, 4);
+        assert (search.findBestMove(Duration.ofMillis(50)) != Move.NONE);
+        assert (search.getStatistics().getDepth() > 1);
+
+        try {
+            new LazySmpSearch(board, null, null, 4);
+            assert false;
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new LazySmpSearch(board, table, null, 0);
+            assert false;
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void timedSearchTest() {
+        BitBoard board = new BitBoard(1, Color.BLACK);
+        AlphaBetaSearch search = new AlphaBetaSearch(board);
+
+        long start = System.nanoTime();
+        int move = search.findBestMove(Duration.ofMillis(200));
+        long elapsed = System.nanoTime() - start;
+        int depth = search.getStatistics().getDepth();
+        assert (depth > 1);
+        assert (elapsed < Duration.ofSeconds(1).toNanos());
+
+        // The move of the deepest completed search is chosen.
+        assert (move == new AlphaBetaSearch(board).findBestMove(depth));
+
+        Board chessBoard = new ChessBoard(1, Color.BLACK)
+                .machineMove(Duration.ofMillis(50));
+        assert (chessBoard.getNextPlayer() == Player.HUMAN);
+        assert (chessBoard.getNumberOfTiles(Player.MACHINE) == Board.SIZE);
+
+        // A chess board plays the move of a bitboard with the same pawns.
+        SearchLimits limits = SearchLimits.ofNodes(20000);
+        Board expected = new BitBoard(1, Color.BLACK).machineMove(limits,
+                null);
+        chessBoard = new ChessBoard(1, Color.BLACK).machineMove(limits, null);
+        for (int col = 1; col <= Board.SIZE; col++) {
+            for (int row = 1; row <= Board.SIZE; row++) {
+                assert (chessBoard.getSlot(col, row)
+                        == expected.getSlot(col, row));
+            }
+        }
+    }
+
+    @Test
+    public void transpositionTableTest() throws InterruptedException {
+        BitBoard board = new BitBoard(1, Color.BLACK);
+        board.makeMove(Move.create(1, 8, 1, 6));
+        board.makeMove(Move.create(8, 1, 8, 3));
+        int expected = new AlphaBetaSearch(board).findBestMove(6);
+
+        TranspositionTable table = new TranspositionTable(1);
+        assert (new AlphaBetaSearch(board, table).findBestMove(6) == expected);
+        assert (table.getHits() > 0 && table.getMisses() > 0);
+
+        // Concurrent searches sharing the table find the same move.
+        int[] moves = new int[4];
+        Thread[] threads = new Thread[moves.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> moves[index]
+                    = new AlphaBetaSearch(board, table).findBestMove(6));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int move : moves) {
+            assert (move == expected);
+        }
+    }
+
+    @Test
+    public void cancellationTest() throws InterruptedException {
+        BitBoard board = new BitBoard(1, Color.BLACK);
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        // An interrupted search stops within milliseconds, also its helpers
+        // and the tasks of its pool.
+        for (ForkJoinPool searchPool : new ForkJoinPool[]{null, pool}) {
+            boolean[] cancelled = new boolean[1];
+            Thread thread = new Thread(() -> {
+                try {
+                    new LazySmpSearch(board, new TranspositionTable(1),
+                            searchPool, 2).findBestMove(40);
+                } catch (CancellationException expected) {
+                    cancelled[0] = Thread.currentThread().isInterrupted();
+                }
+            });
+            thread.start();
+            Thread.sleep(50);
+            long start = System.nanoTime();
+            thread.interrupt();
+            thread.join(1000);
+            assert (!thread.isAlive() && cancelled[0]);
+            assert (System.nanoTime() - start
+                    < Duration.ofMillis(100).toNanos());
+        }
+        pool.shutdown();
+
+        // A timed search returns the move of the deepest completed search.
+        AlphaBetaSearch search = new AlphaBetaSearch(board);
+        Thread.currentThread().interrupt();
+        int move = search.findBestMove(Duration.ofHours(1));
+        assert (Thread.interrupted());
+        int depth = search.getStatistics().getDepth();
+        assert (move == new AlphaBetaSearch(board).findBestMove(depth));
+    }
+
+    @Test
+    public void ponderTest() {
+        BitBoard board = new BitBoard(4, Color.BLACK);
+        BitBoard afterMachine = (BitBoard) board.machineMove();
+        TranspositionTable table = new TranspositionTable(1);
+        int[] replies = new int[Move.MAX_MOVES];
+        int count = afterMachine.generateMoves(replies);
+
+        // The answer to the expected reply is always awaited, the others
+        // may not have been pondered yet. Pondered answers are the moves
+        // the machine would have chosen anyway.
+        Ponderer ponderer = new Ponderer();
+        int pondered = 0;
+        for (int i = 0; i < count; i++) {
+            BitBoard reply = (BitBoard) afterMachine.move(
+                    Move.getColFrom(replies[i]), Move.getRowFrom(replies[i]),
+                    Move.getColTo(replies[i]), Move.getRowTo(replies[i]));
+            ponderer.start(afterMachine, 4, table, null, 1);
+            int move = ponderer.takeMove(reply, 4);
+            if (move != Move.NONE) {
+                pondered++;
+                assert (move == new AlphaBetaSearch(reply).findBestMove(4));
+            }
+            assert (ponderer.takeMove(reply, 4) == move);
+            assert (ponderer.takeMove(reply, 3) == Move.NONE);
+        }
+        assert (pondered > 0);
+
+        // The machine plays the same moves with pondering, which is enabled
+        // for its game only.
+        afterMachine.getEngineConfig().setPondering(true);
+        assert (!new BitBoard(4, Color.WHITE).getEngineConfig()
+                .isPondering());
+        Board game = afterMachine;
+        Color machineColor = Color.getOppositeColor(game.getHumanColor());
+        for (int i = 0; i < 3 && !game.isGameOver()
+                && game.getNextPlayer() == Player.HUMAN; i++) {
+            ((BitBoard) game).generateMoves(replies);
+            game = game.move(Move.getColFrom(replies[0]),
+                    Move.getRowFrom(replies[0]), Move.getColTo(replies[0]),
+                    Move.getRowTo(replies[0]));
+            int expected = new AlphaBetaSearch((BitBoard) game)
+                    .findBestMove(4);
+            game = game.machineMove();
+            assert (game.getSlot(Move.getColFrom(expected),
+                    Move.getRowFrom(expected)) == Color.NONE);
+            assert (game.getSlot(Move.getColTo(expected),
+                    Move.getRowTo(expected)) == machineColor);
+        }
+        game.getEngineConfig().setPondering(false);
+    }
+
+    @Test
+    public void machineMoveAsyncTest() throws InterruptedException {
+        BitBoard board = new BitBoard(4, Color.BLACK);
+        List<Integer> depths = new ArrayList<>();
+
+        // The future holds the same board as the synchronous move, the
+        // listener is informed about every depth.
+        Board expected = board.machineMove();
+        Board actual = board.machineMoveAsync(SearchLimits.ofDepth(4),
+                Runnable::run, (depth, score, nodes, bestMove) -> {
+                    assert (nodes > 0 && bestMove != Move.NONE);
+                    depths.add(depth);
+                }).join();
+        assert (actual.equals(expected));
+        assert (depths.equals(List.of(1, 2, 3, 4)));
+
+        // Cancelling the future stops its search within milliseconds.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CompletableFuture<Board> future = board.machineMoveAsync(
+                SearchLimits.ofDepth(40), executor, null);
+        Thread.sleep(50);
+        assert (future.cancel(true) && future.isCancelled());
+        executor.shutdown();
+        assert (executor.awaitTermination(100, TimeUnit.MILLISECONDS));
+
+        // So does cancelling a hint, long before its latency has passed.
+        executor = Executors.newSingleThreadExecutor();
+        CompletableFuture<AnalyzedMove> hint = new BitBoard(4, Color.WHITE)
+                .hintAsync(Duration.ofSeconds(30), executor);
+        Thread.sleep(50);
+        assert (hint.cancel(true) && hint.isCancelled());
+        executor.shutdown();
+        assert (executor.awaitTermination(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void nodeLimitTest() {
+        BitBoard board = new BitBoard(1, Color.BLACK);
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        // The search stops exactly at the limit, also with several threads.
+        AlphaBetaSearch search = new AlphaBetaSearch(board);
+        int move = search.findBestMove(SearchLimits.ofNodes(50000), null);
+        assert (search.getStatistics().getNodes() == 50000);
+        assert (move == new AlphaBetaSearch(board)
+                .findBestMove(SearchLimits.ofNodes(50000), null));
+        LazySmpSearch parallel = new LazySmpSearch(board,
+                new TranspositionTable(1), pool, 3);
+        parallel.findBestMove(SearchLimits.ofNodes(50000), null);
+        assert (parallel.getStatistics().getNodes() == 50000);
+
+        // Depth one is completed even beyond the limit, but the helpers do
+        // not visit any further boards.
+        search.findBestMove(SearchLimits.ofDepth(1), null);
+        long firstDepth = search.getStatistics().getNodes();
+        LazySmpSearch limited = new LazySmpSearch(board,
+                new TranspositionTable(1), pool, 3);
+        limited.findBestMove(SearchLimits.ofNodes(1), null);
+        assert (limited.getStatistics().getNodes() == firstDepth);
+        pool.shutdown();
+
+        // The first limit which is reached stops the search.
+        search.findBestMove(SearchLimits.ofNodes(50000).withDepth(2), null);
+        assert (search.getStatistics().getDepth() == 2);
+        assert (search.getStatistics().getNodes() < 50000);
+        try {
+            SearchLimits.ofNodes(0);
+            assert (false);
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void analyzeTest() {
+        BitBoard board = new BitBoard(4, Color.BLACK);
+
+        // The best move comes first, the others follow by their values, each
+        // with its principal variation.
+        List<AnalyzedMove> lines = board.analyze(SearchLimits.ofDepth(4), 3);
+        assert (lines.size() == 3);
+        assert (lines.get(0).getMove()
+                == new AlphaBetaSearch(board).findBestMove(4));
+        for (int i = 0; i < lines.size(); i++) {
+            int[] variation = lines.get(i).getVariation();
+            assert (variation.length >= 1 && variation.length <= 4);
+            assert (variation[0] == lines.get(i).getMove());
+            assert (i == 0 || lines.get(i - 1).getScore()
+                    >= lines.get(i).getScore());
+        }
+
+        // Fewer best moves are a prefix of more, for both players.
+        Board human = board.machineMove();
+        List<AnalyzedMove> all = human.analyze(SearchLimits.ofDepth(4), 99);
+        List<AnalyzedMove> best = human.analyze(SearchLimits.ofDepth(4), 2);
+        for (int i = 0; i < best.size(); i++) {
+            assert (best.get(i).getMove() == all.get(i).getMove());
+            assert (best.get(i).getScore() == all.get(i).getScore());
+        }
+        assert (new ChessBoard(4, Color.BLACK).analyze(SearchLimits
+                .ofDepth(4), 1).get(0).getMove() == lines.get(0).getMove());
+        try {
+            board.analyze(SearchLimits.ofDepth(4), 0);
+            assert (false);
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void hintTest() {
+        Board board = new BitBoard(4, Color.WHITE);
+
+        // The hint is returned within its latency and starts its line.
+        long start = System.nanoTime();
+        AnalyzedMove hint = board.hint(Duration.ofMillis(200));
+        assert (System.nanoTime() - start < Duration.ofMillis(400).toNanos());
+        assert (hint.getVariation()[0] == hint.getMove());
+        assert (board.move(Move.getColFrom(hint.getMove()),
+                Move.getRowFrom(hint.getMove()), Move.getColTo(hint.getMove()),
+                Move.getRowTo(hint.getMove())) != null);
+        try {
+            new BitBoard(4, Color.BLACK).hint(Duration.ofMillis(200));
+            assert (false);
+        } catch (IllegalMoveException expected) {
+        }
+    }
+
+    @Test
+    public void monteCarloTest() throws InterruptedException {
+        BitBoard board = new BitBoard(3, Color.BLACK);
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = board.generateMoves(moves);
+
+        // A single thread plays out exactly as often as allowed and always
+        // chooses the same move.
+        MonteCarloSearch search = new MonteCarloSearch(board, 1);
+        int move = search.findBestMove(SearchLimits.ofNodes(5000), null);
+        assert (search.getPlayouts() == 5000);
+        assert (search.getPlayoutsPerSecond() > 0);
+        assert (move == new MonteCarloSearch(board, 1)
+                .findBestMove(SearchLimits.ofNodes(5000), null));
+
+        // Several threads share the tree, and the first limit which is
+        // reached stops the search.
+        MonteCarloSearch timed = new MonteCarloSearch(board, 2);
+        timed.findBestMove(SearchLimits.ofDepth(1000)
+                .withMovetime(Duration.ofMillis(100)), null);
+        assert (timed.getPlayouts() < 1000 * 4000);
+
+        // The best move so far can be read while the search runs, and the
+        // search returns it when it is stopped.
+        MonteCarloSearch parallel = new MonteCarloSearch(board, 2);
+        int[] bestSoFar = {Move.NONE};
+        Thread stopper = new Thread(() -> {
+            while (bestSoFar[0] == Move.NONE) {
+                if (parallel.getPlayouts() > 10000) {
+                    bestSoFar[0] = parallel.getBestMove();
+                }
+                Thread.onSpinWait();
+            }
+            parallel.stop();
+        });
+        stopper.start();
+        move = parallel.findBestMove(SearchLimits.ofDepth(1000), null);
+        stopper.join();
+        assert (bestSoFar[0] != Move.NONE);
+        assert (parallel.getPlayouts() < 1000 * 4000);
+        assert (parallel.getBestMove() == move);
+        boolean legal = false;
+        for (int i = 0; i < count; i++) {
+            legal |= moves[i] == move;
+        }
+        assert (legal);
+
+        // The machine moves with the engine of its game only.
+        board.getEngineConfig().setSearchEngine(SearchEngine.MONTE_CARLO);
+        Board next = board.machineMove();
+        assert (next.getNextPlayer() == Player.HUMAN);
+        assert (next.getEngineConfig() == board.getEngineConfig());
+        assert (new BitBoard(3, Color.BLACK).getEngineConfig()
+                .getSearchEngine() == SearchEngine.ALPHA_BETA);
+    }
+
+    @Test
+    public void proofNumberSearchTest() throws IllegalMoveException {
+        BitBoard board = new BitBoard(3, Color.WHITE);
+        int[] moves = new int[Move.MAX_MOVES];
+        assert (new ProofNumberSearch(board).solve(1) == Outcome.UNKNOWN);
+
+        // Play captures first until the machine has a proven win with few
+        // pawns left.
+        ProofNumberSearch solver = null;
+        for (int ply = 0; solver == null; ply++) {
+            int count = board.generateMoves(moves);
+            int move = moves[ply % count];
+            for (int i = count - 1; i >= 0; i--) {
+                if (Move.getColFrom(moves[i]) != Move.getColTo(moves[i])) {
+                    move = moves[i];
+                }
+            }
+            board.makeMove(move);
+            assert (!board.isGameOver());
+            if (board.getNextPlayer() == Player.MACHINE
+                    && board.getNumberOfTiles(Player.HUMAN)
+                    + board.getNumberOfTiles(Player.MACHINE) <= 10) {
+                ProofNumberSearch candidate = new ProofNumberSearch(board);
+                Outcome outcome = candidate.solve(100_000);
+                assert (candidate.getNodes() <= 100_000);
+                if (outcome == Outcome.WIN) {
+                    solver = candidate;
+                }
+            }
+        }
+        assert (solveExactly(board, new HashMap<>()) == Outcome.WIN);
+
+        // A limit of the visited boards skips the proof, which would have
+        // played the win without informing the listener, so the search
+        // visits all boards of the move within the limit.
+        long[] visited = new long[1];
+        board.machineMove(SearchLimits.ofNodes(500),
+                (depth, score, nodes, bestMove) -> visited[0] = nodes);
+        assert (visited[0] > 0 && visited[0] <= 500);
+
+        // The proof stops once the calling thread is interrupted.
+        Thread.currentThread().interrupt();
+        try {
+            new ProofNumberSearch(board).solve(100_000);
+            assert (false);
+        } catch (CancellationException expected) {
+            assert (Thread.interrupted());
+        }
+
+        // The machine plays the proven win, after which the human loses.
+        Board next = board.machineMove();
+        int move = solver.getBestMove();
+        assert (next.getSlot(Move.getColTo(move), Move.getRowTo(move))
+                == Player.MACHINE.getColor());
+        if (next.isGameOver()) {
+            assert (next.getWinner() == Player.MACHINE);
+        } else {
+            assert (solveExactly((BitBoard) next, new HashMap<>())
+                    == (next.getNextPlayer() == Player.HUMAN ? Outcome.LOSS
+                    : Outcome.WIN));
+        }
+    }
+
+    private static Outcome solveExactly(BitBoard board,
+                                        Map<Long, Outcome> solved) {
+        if (board.isGameOver()) {
+            Player winner = board.getWinner();
+            return winner == null ? Outcome.DRAW
+                    : winner == board.getNextPlayer() ? Outcome.WIN
+                    : Outcome.LOSS;
+        } else if (solved.containsKey(board.getPositionKey())) {
+            return solved.get(board.getPositionKey());
+        }
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = board.generateMoves(moves);
+        if (count == 0) {
+            board.suspendMove();
+            Outcome outcome = solveExactly(board, solved);
+            board.suspendMove();
+            return outcome == Outcome.WIN ? Outcome.LOSS
+                    : outcome == Outcome.LOSS ? Outcome.WIN : Outcome.DRAW;
+        }
+        Outcome best = Outcome.LOSS;
+        for (int i = 0; i < count && best != Outcome.WIN; i++) {
+            int undoInfo = board.makeMove(moves[i]);
+            Outcome outcome = solveExactly(board, solved);
+            board.unmakeMove(moves[i], undoInfo);
+            if (outcome == Outcome.LOSS) {
+                best = Outcome.WIN;
+            } else if (outcome == Outcome.DRAW) {
+                best = Outcome.DRAW;
+            }
+        }
+        solved.put(board.getPositionKey(), best);
+        return best;
+    }
+
+    private static int minMaxMove(BitBoard board, int depth) {
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = board.generateMoves(moves);
+        int bestMove = Move.NONE;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int undoInfo = board.makeMove(moves[i]);
+            double value = minMax(board, depth - 1);
+            board.unmakeMove(moves[i], undoInfo);
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = moves[i];
+            }
+        }
+        return bestMove;
+    }
+
+    private static double minMax(BitBoard board, int height) {
+        if (height == 0) {
+            return quiescence(board);
+        }
+        double rating = board.createBoardRating(height);
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = board.generateMoves(moves);
+        if (count == 0) {
+            return rating;
+        }
+
+        boolean machine = board.getNextPlayer() == Player.MACHINE;
+        double best = machine ? Double.NEGATIVE_INFINITY
+                : Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int undoInfo = board.makeMove(moves[i]);
+            double value = minMax(board, height - 1);
+            board.unmakeMove(moves[i], undoInfo);
+            best = machine ? Math.max(best, value) : Math.min(best, value);
+        }
+        return rating + best;
+    }
+
+    private static double quiescence(BitBoard board) {
+        if (board.isGameOver()) {
+            return board.createBoardRating(1);
+        }
+
+        double best = board.createBoardRating(0);
+        boolean machine = board.getNextPlayer() == Player.MACHINE;
+        int[] moves = new int[Move.MAX_MOVES];
+        int count = board.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            int rowTo = Move.getRowTo(moves[i]);
+            if (Move.isCapture(moves[i]) || rowTo == 1
+                    || rowTo == Board.SIZE) {
+                int undoInfo = board.makeMove(moves[i]);
+                double value = quiescence(board);
+                board.unmakeMove(moves[i], undoInfo);
+                best = machine ? Math.max(best, value)
+                        : Math.min(best, value);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,226 @@
+package model.search;
+
+import model.chessboard.BitBoard;
+import model.chessboard.Color;
+import model.chessboard.Move;
+import model.player.Player;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A benchmark of the parallel searches. It searches a fixed set of positions
+ * at the levels 4 to 8 with 2, 4, 8, ... threads up to the number of
+ * available processors and prints the time, the number of visited boards per
+ * second and the speedup over a single thread. The threads either share a
+ * pool which searches younger siblings in parallel or run a
+ * {@code LazySmpSearch}. The moves
+ * found with every number of threads are checked to be the same.
+ * Afterwards, the {@code MonteCarloSearch} plays out every position for a
+ * fixed time with the same numbers of threads, and the number of playouts
+ * per second is printed.
+ *
+ * The positions are reached by random moves from the initial board with a
+ * fixed seed, so every run searches the same positions.
+ */
+public final class SearchBenchmark {
+
+    // The number of searched positions.
+    private static final int POSITIONS = 20;
+
+    // The seed of the random moves which lead to the positions.
+    private static final long SEED = 11;
+
+    // The greatest number of random moves which lead to a position.
+    private static final int MAX_OPENING_MOVES = 24;
+
+    // The lowest benchmarked level.
+    private static final int MIN_LEVEL = 4;
+
+    // The highest benchmarked level.
+    private static final int MAX_LEVEL = 8;
+
+    // The size of the transposition table in megabytes.
+    private static final int TABLE_SIZE = 16;
+
+    // The time for which the Monte Carlo tree search plays out a position.
+    private static final Duration PLAYOUT_TIME = Duration.ofMillis(200);
+
+    /**
+     * Private constructor for the SearchBenchmark class. Do not attempt to
+     * use this.
+     */
+    private SearchBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints its results.
+     *
+     * @param args The greatest number of threads can be given as first
+     *             argument. By default, it is the number of available
+     *             processors.
+     */
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        List<BitBoard> positions = createPositions();
+        TranspositionTable table = new TranspositionTable(TABLE_SIZE);
+
+        // Let the virtual machine compile the search before measuring it.
+        run(positions, MAX_LEVEL, table, null, 1, new int[positions.size()]);
+
+        System.out.println("search    level threads time/ms  boards/s "
+                + "speedup");
+        for (int level = MIN_LEVEL; level <= MAX_LEVEL; level++) {
+            int[] expected = new int[positions.size()];
+            long[] serial = run(positions, level, table, null, 1, expected);
+            print("serial", level, 1, serial, serial);
+
+            for (int threads = 2; threads <= maxThreads; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                int[] moves = new int[positions.size()];
+                long[] result = run(positions, level, table, pool, 1, moves);
+                pool.shutdown();
+                check(moves, expected);
+                print("ybw", level, threads, result, serial);
+
+                result = run(positions, level, table, null, threads, moves);
+                check(moves, expected);
+                print("lazy smp", level, threads, result, serial);
+            }
+        }
+
+        System.out.println();
+        System.out.println("search    threads time/ms playouts/s speedup");
+        long[] serial = runMonteCarlo(positions, 1);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long[] result = threads == 1 ? serial
+                    : runMonteCarlo(positions, threads);
+            System.out.printf("%-9s %7d %7d %10d %7.2f%n", "mcts", threads,
+                    result[0] / 1_000_000,
+                    result[1] * 1_000_000_000 / Math.max(result[0], 1),
+                    (double) result[1] / serial[1]);
+        }
+    }
+
+    /**
+     * Creates the positions by random moves from the initial board. Only
+     * positions in which the machine can move are kept.
+     *
+     * @return The positions to search.
+     */
+    private static List<BitBoard> createPositions() {
+        Random random = new Random(SEED);
+        List<BitBoard> positions = new ArrayList<>();
+        int[] moves = new int[Move.MAX_MOVES];
+        while (positions.size() < POSITIONS) {
+            BitBoard board = new BitBoard(MIN_LEVEL, Color.WHITE);
+            int openingMoves = random.nextInt(MAX_OPENING_MOVES + 1);
+            for (int i = 0; i < openingMoves && !board.isGameOver(); i++) {
+                int count = board.generateMoves(moves);
+                if (count == 0) {
+                    board.suspendMove();
+                } else {
+                    board.makeMove(moves[random.nextInt(count)]);
+                }
+            }
+            if (!board.isGameOver()
+                    && board.getNextPlayer() == Player.MACHINE) {
+                positions.add(board);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Searches all positions at a level, each with an empty transposition
+     * table.
+     *
+     * @param positions The positions to search.
+     * @param level     The depth of the searches.
+     * @param table     The transposition table used by the searches.
+     * @param pool      The pool which searches younger siblings in
+     *                  parallel or {@code null}.
+     * @param threads   The number of threads of a {@code LazySmpSearch}.
+     * @param moves     The buffer which is filled with the chosen moves.
+     * @return The time taken by the searches in nanoseconds and the number
+     * of visited boards.
+     */
+    private static long[] run(List<BitBoard> positions, int level,
+                              TranspositionTable table, ForkJoinPool pool,
+                              int threads, int[] moves) {
+        long time = 0;
+        long nodes = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            table.clear();
+            LazySmpSearch search = new LazySmpSearch(positions.get(i), table,
+                    pool, threads);
+            long start = System.nanoTime();
+            moves[i] = search.findBestMove(level);
+            time += System.nanoTime() - start;
+            nodes += search.getStatistics().getNodes();
+        }
+        return new long[]{time, nodes};
+    }
+
+    /**
+     * Plays out all positions by Monte Carlo tree searches for a fixed time.
+     *
+     * @param positions The positions to search.
+     * @param threads   The number of threads of each search.
+     * @return The time taken by the searches in nanoseconds and the number
+     * of playouts.
+     */
+    private static long[] runMonteCarlo(List<BitBoard> positions,
+                                        int threads) {
+        long time = 0;
+        long playouts = 0;
+        for (BitBoard position : positions) {
+            MonteCarloSearch search = new MonteCarloSearch(position, threads);
+            long start = System.nanoTime();
+            search.findBestMove(SearchLimits.ofMovetime(PLAYOUT_TIME), null);
+            time += System.nanoTime() - start;
+            playouts += search.getPlayouts();
+        }
+        return new long[]{time, playouts};
+    }
+
+    /**
+     * Makes sure that a parallel search has chosen the same moves as a single
+     * thread.
+     *
+     * @param moves    The moves of the parallel search.
+     * @param expected The moves of the single thread.
+     * @throws IllegalStateException If a move differs.
+     */
+    private static void check(int[] moves, int[] expected) {
+        for (int i = 0; i < moves.length; i++) {
+            if (moves[i] != expected[i]) {
+                throw new IllegalStateException("The parallel search chose "
+                        + "another move.");
+            }
+        }
+    }
+
+    /**
+     * Prints one line of the results.
+     *
+     * @param search  The kind of search.
+     * @param level   The depth of the searches.
+     * @param threads The number of threads.
+     * @param result  The time taken in nanoseconds and the number of visited
+     *                boards.
+     * @param serial  The time taken and the number of visited boards of a
+     *                single thread.
+     */
+    private static void print(String search, int level, int threads,
+                              long[] result, long[] serial) {
+        System.out.printf("%-9s %5d %7d %7d %9d %7.2f%n", search, level,
+                threads, result[0] / 1_000_000,
+                result[1] * 1_000_000_000 / Math.max(result[0], 1),
+                (double) serial[0] / result[0]);
+    }
+}